@@ -23,7 +23,7 @@ import net.minecraft.util.Hand;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.registry.Registry;
-import org.apache.commons.lang3.mutable.MutableObject;
+import net.minecraft.world.World;
 import org.jetbrains.annotations.ApiStatus;
 
 import static draylar.goml.GetOffMyLawn.id;
@@ -69,41 +69,20 @@ public class EventHandlers {
                 return ActionResult.PASS;
             }
 
-            if (entity instanceof PlayerEntity attackedPlayer) {
-                var claims = ClaimUtils.getClaimsAt(world, entity.getBlockPos());
+            var pos = entity.getBlockPos();
 
-                if (claims.isEmpty()) {
+            if (entity instanceof PlayerEntity attackedPlayer) {
+                if (!ClaimUtils.hasClaimAt(world, pos.getX(), pos.getY(), pos.getZ())) {
                     return ActionResult.PASS;
+                } else if (!ClaimUtils.anyClaimAt(world, pos.getX(), pos.getY(), pos.getZ(), ClaimUtils::isPvPArena)) {
+                    return GetOffMyLawn.CONFIG.enablePvPinClaims ? ActionResult.PASS : ActionResult.FAIL;
                 } else {
-                    claims = claims.filter((e) -> e.getValue().hasAugment(GOMLBlocks.PVP_ARENA.getFirst()));
-
-                    if (claims.isEmpty()) {
-                        return GetOffMyLawn.CONFIG.enablePvPinClaims ? ActionResult.PASS : ActionResult.FAIL;
-                    } else {
-                        var obj = new MutableObject<>(ActionResult.PASS);
-                        claims.forEach((e) -> {
-                            if (obj.getValue() == ActionResult.FAIL) {
-                                return;
-                            }
-                            var claim = e.getValue();
-
-                            obj.setValue(switch (claim.getData(GOMLBlocks.PVP_ARENA.getFirst().key)) {
-                                case EVERYONE -> ActionResult.PASS;
-                                case DISABLED -> ActionResult.FAIL;
-                                case TRUSTED -> claim.hasPermission(playerEntity) && claim.hasPermission(attackedPlayer)
-                                        ? ActionResult.PASS : ActionResult.FAIL;
-                                case UNTRUSTED -> !claim.hasPermission(playerEntity) && !claim.hasPermission(attackedPlayer)
-                                        ? ActionResult.PASS : ActionResult.FAIL;
-                            });
-                        });
-
-                        return obj.getValue();
-                    }
+                    return ClaimUtils.anyClaimAt(world, pos.getX(), pos.getY(), pos.getZ(), claim -> ClaimUtils.isPvPArena(claim) && !ClaimUtils.allowsPvP(claim, playerEntity, attackedPlayer))
+                            ? ActionResult.FAIL : ActionResult.PASS;
                 }
             }
 
-            Selection<Entry<ClaimBox, Claim>> claimsFound = ClaimUtils.getClaimsAt(world, entity.getBlockPos());
-            return testPermission(claimsFound, playerEntity, hand, entity.getBlockPos(), PermissionReason.ENTITY_PROTECTED);
+            return testPermission(world, playerEntity, hand, pos, PermissionReason.ENTITY_PROTECTED);
         });
     }
 
@@ -123,13 +102,10 @@ public class EventHandlers {
                 }
             }
 
-            var claimsFound = ClaimUtils.getClaimsAt(world, blockHitResult.getBlockPos());
-
-            var ac = testPermission(claimsFound, playerEntity, hand, blockHitResult.getBlockPos(), PermissionReason.AREA_PROTECTED);
+            var ac = testPermission(world, playerEntity, hand, blockHitResult.getBlockPos(), PermissionReason.AREA_PROTECTED);
 
             if (ac == ActionResult.PASS) {
-                var claimsFound2 = ClaimUtils.getClaimsAt(world, blockHitResult.getBlockPos().offset(blockHitResult.getSide()));
-                return testPermission(claimsFound2, playerEntity, hand, blockHitResult.getBlockPos().offset(blockHitResult.getSide()), PermissionReason.AREA_PROTECTED);
+                return testPermission(world, playerEntity, hand, blockHitResult.getBlockPos().offset(blockHitResult.getSide()), PermissionReason.AREA_PROTECTED);
             }
 
             return ac;
@@ -138,13 +114,11 @@ public class EventHandlers {
 
     private static void registerBreakBlockCallback() {
         AttackBlockCallback.EVENT.register(GOML_PHASE, (playerEntity, world, hand, blockPos, direction) -> {
-            Selection<Entry<ClaimBox, Claim>> claimsFound = ClaimUtils.getClaimsAt(world, blockPos);
-            return testPermission(claimsFound, playerEntity, hand, blockPos, PermissionReason.BLOCK_PROTECTED);
+            return testPermission(world, playerEntity, hand, blockPos, PermissionReason.BLOCK_PROTECTED);
         });
 
         PlayerBlockBreakEvents.BEFORE.register(GOML_PHASE, (world, player, pos, state, blockEntity) -> {
-            Selection<Entry<ClaimBox, Claim>> claimsFound = ClaimUtils.getClaimsAt(world, pos);
-            ActionResult result = testPermission(claimsFound, player, Hand.MAIN_HAND, pos, PermissionReason.BLOCK_PROTECTED);
+            ActionResult result = testPermission(world, player, Hand.MAIN_HAND, pos, PermissionReason.BLOCK_PROTECTED);
             return !result.equals(ActionResult.FAIL);
         });
     }
@@ -168,13 +142,30 @@ public class EventHandlers {
         if (!claims.isEmpty()) {
             boolean noPermission = claims.anyMatch((Entry<ClaimBox, Claim> boxInfo) -> !boxInfo.getValue().hasPermission(player));
 
-            if (noPermission && !ClaimUtils.isInAdminMode(player)) {
-                ActionResult check = ClaimEvents.PERMISSION_DENIED.invoker().check(player, player.getWorld(), hand, pos, reason);
+            if (noPermission) {
+                return denyPermission(player, hand, pos, reason);
+            }
+        }
 
-                if (check.isAccepted() || check.equals(ActionResult.PASS)) {
-                    player.sendMessage(reason.getReason(), true);
-                    return ActionResult.FAIL;
-                }
+        return ActionResult.PASS;
+    }
+
+    @ApiStatus.Internal
+    public static ActionResult testPermission(World world, PlayerEntity player, Hand hand, BlockPos pos, PermissionReason reason) {
+        if (ClaimUtils.anyClaimAt(world, pos.getX(), pos.getY(), pos.getZ(), claim -> !claim.hasPermission(player))) {
+            return denyPermission(player, hand, pos, reason);
+        }
+
+        return ActionResult.PASS;
+    }
+
+    private static ActionResult denyPermission(PlayerEntity player, Hand hand, BlockPos pos, PermissionReason reason) {
+        if (!ClaimUtils.isInAdminMode(player)) {
+            ActionResult check = ClaimEvents.PERMISSION_DENIED.invoker().check(player, player.getWorld(), hand, pos, reason);
+
+            if (check.isAccepted() || check.equals(ActionResult.PASS)) {
+                player.sendMessage(reason.getReason(), true);
+                return ActionResult.FAIL;
             }
         }
 
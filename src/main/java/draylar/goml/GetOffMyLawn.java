@@ -5,7 +5,11 @@ import dev.onyxstudios.cca.api.v3.component.ComponentRegistryV3;
 import dev.onyxstudios.cca.api.v3.world.WorldComponentFactoryRegistry;
 import dev.onyxstudios.cca.api.v3.world.WorldComponentInitializer;
 import draylar.goml.api.GomlProtectionProvider;
+import draylar.goml.api.event.ClaimEvents;
+import draylar.goml.block.entity.ClaimBlockEntityLoader;
 import draylar.goml.cca.ClaimComponent;
+import draylar.goml.cca.ClaimIdRegistry;
+import draylar.goml.cca.ClaimIoWorker;
 import draylar.goml.cca.WorldClaimComponent;
 import draylar.goml.compat.ArgonautsCompat;
 import draylar.goml.other.CardboardWarning;
@@ -19,15 +23,16 @@ import draylar.goml.registry.GOMLItems;
 import eu.pb4.common.protection.api.CommonProtection;
 import eu.pb4.polymer.core.api.item.PolymerItemGroupUtils;
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerBlockEntityEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.item.ItemGroup;
 import net.minecraft.item.ItemStack;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
-import net.minecraft.util.math.ChunkSectionPos;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -69,11 +74,23 @@ public class GetOffMyLawn implements ModInitializer, WorldComponentInitializer {
             GetOffMyLawn.CONFIG = GOMLConfig.loadOrCreateConfig();
         });
 
+        ServerLifecycleEvents.SERVER_STOPPED.register((s) -> {
+            // Worlds are saved by now, make sure their claims reach the disk before the server goes away
+            ClaimIoWorker.flush();
+            ClaimIdRegistry.clear();
+        });
+
         ServerTickEvents.END_WORLD_TICK.register((world) -> {
-            CLAIM.get(world).getClaims().values().forEach(x -> {
-                x.tick(world);
-            });
+            ClaimBlockEntityLoader.tick(world);
+            CLAIM.get(world).internal_tick(world);
+        });
+
+        ServerBlockEntityEvents.BLOCK_ENTITY_LOAD.register(ClaimBlockEntityLoader::onLoad);
+        ServerWorldEvents.UNLOAD.register((server, world) -> {
+            ClaimBlockEntityLoader.onWorldUnload(world);
+            CLAIM.get(world).internal_onUnload();
         });
+        ClaimEvents.CLAIM_DESTROYED.register(ClaimBlockEntityLoader::onClaimDestroyed);
 
         VanillaTeamGroups.init();
         if (FabricLoader.getInstance().isModLoaded("argonauts")) {
@@ -81,27 +98,11 @@ public class GetOffMyLawn implements ModInitializer, WorldComponentInitializer {
         }
 
         ServerChunkEvents.CHUNK_LOAD.register((world, chunk) -> {
-            CLAIM.get(world).getClaims().entries().filter(x -> {
-                var minX = ChunkSectionPos.getSectionCoord(x.getKey().toBox().x1());
-                var minZ = ChunkSectionPos.getSectionCoord(x.getKey().toBox().z1());
-
-                var maxX = ChunkSectionPos.getSectionCoord(x.getKey().toBox().x2());
-                var maxZ = ChunkSectionPos.getSectionCoord(x.getKey().toBox().z2());
-
-                return (minX <= chunk.getPos().x && maxX >= chunk.getPos().x && minZ <= chunk.getPos().z && maxZ >= chunk.getPos().z);
-            }).forEach(x -> x.getValue().internal_incrementChunks());
+            CLAIM.get(world).internal_onChunkLoad(chunk.getPos().x, chunk.getPos().z);
         });
 
         ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> {
-            CLAIM.get(world).getClaims().entries().filter(x -> {
-                var minX = ChunkSectionPos.getSectionCoord(x.getKey().toBox().x1());
-                var minZ = ChunkSectionPos.getSectionCoord(x.getKey().toBox().z1());
-
-                var maxX = ChunkSectionPos.getSectionCoord(x.getKey().toBox().x2());
-                var maxZ = ChunkSectionPos.getSectionCoord(x.getKey().toBox().z2());
-
-                return (minX <= chunk.getPos().x && maxX >= chunk.getPos().x && minZ <= chunk.getPos().z && maxZ >= chunk.getPos().z);
-            }).forEach(x -> x.getValue().internal_decrementChunks());
+            CLAIM.get(world).internal_onChunkUnload(chunk.getPos().x, chunk.getPos().z);
         });
     }
 
@@ -41,6 +41,21 @@ public interface Augment {
         return false;
     }
 
+    /**
+     * Returns how many ticks pass between calls to {@link #tick(Claim, World)} and {@link #playerTick(Claim, PlayerEntity)}.
+     * Claims are spread over the interval, so they don't all run on the same tick.
+     */
+    default int tickInterval() {
+        return 1;
+    }
+
+    /**
+     * Returns an offset added to the claim's own phase, for augments that want to run at a different point of the interval.
+     */
+    default int tickPhase() {
+        return 0;
+    }
+
     default boolean canPlace(Claim claim, World world, BlockPos pos) {
         return true;
     }
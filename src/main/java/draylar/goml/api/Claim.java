@@ -6,6 +6,7 @@ import draylar.goml.api.group.PlayerGroup;
 import draylar.goml.api.group.PlayerGroupProvider;
 import draylar.goml.block.ClaimAnchorBlock;
 import draylar.goml.block.entity.ClaimAnchorBlockEntity;
+import draylar.goml.cca.ClaimComponent;
 import draylar.goml.registry.GOMLAugments;
 import draylar.goml.registry.GOMLBlocks;
 import draylar.goml.registry.GOMLTextures;
@@ -15,6 +16,10 @@ import draylar.goml.ui.ClaimPlayerListGui;
 import draylar.goml.ui.PagedGui;
 import eu.pb4.sgui.api.elements.GuiElementBuilder;
 import eu.pb4.sgui.api.gui.SimpleGui;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.objects.Object2BooleanOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
@@ -50,6 +55,7 @@ public class Claim {
     public static final String AUGMENTS_KEY = "Augments";
     public static final String CUSTOM_DATA_KEY = "CustomData";
     private static final String BOX_KEY = "Box";
+    private static final String ID_KEY = "Id";
 
     private final Set<UUID> owners = new HashSet<>();
     private final Set<UUID> trusted = new HashSet<>();
@@ -63,14 +69,63 @@ public class Claim {
     private Identifier world;
     @Nullable
     private ItemStack icon;
+    /**
+     * Icon as it was loaded, decoded on first use and saved back as is until it gets replaced.
+     */
+    @Nullable
+    private NbtCompound rawIcon;
 
     private Map<DataKey<Object>, Object> customData = new HashMap<>();
+    /**
+     * Custom data as it was loaded. Keys are decoded into {@link #customData} on first access and written back
+     * unchanged otherwise. It's shared with the loaded NBT, so it gets copied before removing anything from it.
+     */
+    @Nullable
+    private NbtCompound rawCustomData;
     private ClaimBox claimBox;
     private int chunksLoadedCount;
     private final Map<BlockPos, Augment> augments = new HashMap<>();
+    /**
+     * Number of placed augments per {@link GOMLAugments#getIndex(Augment)}, with a bit set in the mask for
+     * every type present among the first 64 indexes, so {@link #hasAugment(Augment)} doesn't need to scan.
+     */
+    private int[] augmentCounts = new int[0];
+    private long augmentMask = 0;
 
-    private final List<PlayerEntity> previousTickPlayers = new ArrayList<>();
+    private ReferenceLinkedOpenHashSet<PlayerEntity> previousTickPlayers = new ReferenceLinkedOpenHashSet<>(0);
+    /**
+     * Scratch collections for {@link #tick(ServerWorld, List)}, kept around so diffing players doesn't allocate every tick.
+     * Most claims never have anyone inside, so these and the caches below start without any room and grow on first use.
+     */
+    private ReferenceLinkedOpenHashSet<PlayerEntity> currentTickPlayers = new ReferenceLinkedOpenHashSet<>(0);
+    private final List<PlayerEntity> enteredPlayers = new ArrayList<>();
+    private final List<PlayerEntity> exitedPlayers = new ArrayList<>();
+    /**
+     * Spreads augment ticks of different claims across their intervals.
+     */
+    private final int tickPhase;
+
+    /**
+     * Results of group membership checks, dropped when trusted groups change or any group reports new members.
+     * Only used when every trusted group announces its membership changes.
+     */
+    private final Object2BooleanOpenHashMap<UUID> groupPermissionCache = new Object2BooleanOpenHashMap<>(0);
+    private long groupPermissionEpoch = -1;
+    /**
+     * Results of {@link #trustsPlayersOf(Claim)}, keyed by the other claim. Values pack the other claim's
+     * player version with the result, so entries go stale by themselves once its players change.
+     */
+    private final Reference2LongOpenHashMap<Claim> claimTrustCache = new Reference2LongOpenHashMap<>(0);
+    private long claimTrustEpoch = -1;
+    private int playerVersion = 0;
     private boolean destroyed = false;
+    private long id = -1;
+    /**
+     * Set whenever something that gets saved changes. Clean claims reuse the NBT they were last saved with.
+     */
+    private boolean dirty = true;
+    @Nullable
+    private NbtCompound savedNbt = null;
 
     @ApiStatus.Internal
     public Claim(MinecraftServer server, Set<UUID> owners, Set<UUID> trusted, BlockPos origin) {
@@ -78,6 +133,53 @@ public class Claim {
         this.owners.addAll(owners);
         this.trusted.addAll(trusted);
         this.origin = origin;
+        this.tickPhase = (int) HashCommon.mix(origin.asLong());
+    }
+
+    /**
+     * Returns the id of this claim, which stays the same across restarts and is unique on the server.
+     * Claims get their id once they're added to a world, until then it's -1.
+     */
+    public long getId() {
+        return this.id;
+    }
+
+    @ApiStatus.Internal
+    public void internal_setId(long id) {
+        if (this.id != id) {
+            this.id = id;
+            this.markDirty();
+        }
+    }
+
+    /**
+     * Marks this claim as changed, so it gets written on the next save.
+     * Values returned by {@link #getMutableData(DataKey)} already mark it, so modifying them in place is saved too.
+     */
+    public void markDirty() {
+        this.dirty = true;
+        var component = this.getComponent();
+        if (component != null) {
+            component.internal_markDirty(this);
+        }
+    }
+
+    public boolean isDirty() {
+        return this.dirty;
+    }
+
+    /**
+     * Returns the NBT this claim should be saved as, serializing it again only if it changed since the last call.
+     * Don't modify the result.
+     */
+    @ApiStatus.Internal
+    public NbtCompound internal_getSaveNbt() {
+        if (this.dirty || this.savedNbt == null) {
+            this.savedNbt = this.asNbt();
+            this.dirty = false;
+        }
+
+        return this.savedNbt;
     }
 
     public boolean isOwner(PlayerEntity player) {
@@ -89,11 +191,19 @@ public class Claim {
     }
 
     public void addOwner(PlayerEntity player) {
-        owners.add(player.getUuid());
+        addOwner(player.getUuid());
     }
 
     public void addOwner(UUID id) {
-        this.owners.add(id);
+        if (this.owners.add(id)) {
+            this.updatePlayerIndex(id);
+        }
+    }
+
+    public void removeOwner(UUID id) {
+        if (this.owners.remove(id)) {
+            this.updatePlayerIndex(id);
+        }
     }
 
     public boolean hasPermission(PlayerEntity player) {
@@ -101,12 +211,91 @@ public class Claim {
     }
 
     public boolean hasPermission(UUID uuid) {
-        for (var group : this.getGroups()) {
+        if (hasDirectPermission(uuid)) {
+            return true;
+        }
+
+        var groups = this.getGroups();
+        if (groups.isEmpty()) {
+            return false;
+        }
+
+        if (!canCacheGroupPermissions(groups)) {
+            return isPartOfAny(groups, uuid);
+        }
+
+        var epoch = PlayerGroup.getMembershipEpoch();
+        if (this.groupPermissionEpoch != epoch) {
+            this.groupPermissionCache.clear();
+            this.groupPermissionEpoch = epoch;
+        }
+
+        if (this.groupPermissionCache.containsKey(uuid)) {
+            return this.groupPermissionCache.getBoolean(uuid);
+        }
+
+        var value = isPartOfAny(groups, uuid);
+        this.groupPermissionCache.put(uuid, value);
+        return value;
+    }
+
+    private static boolean canCacheGroupPermissions(Collection<PlayerGroup> groups) {
+        for (var group : groups) {
+            if (!group.announcesMembershipChanges()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if any owner or trusted player of the other claim has permission in this claim.
+     * <p>Results are cached per claim pair until players of either claim change.
+     */
+    public boolean trustsPlayersOf(Claim other) {
+        if (other == this) {
+            return true;
+        }
+
+        if (this.hasTrustedGroups()) {
+            if (!canCacheGroupPermissions(this.getGroups())) {
+                return this.hasPermission(other.owners) || this.hasPermission(other.trusted);
+            }
+
+            var epoch = PlayerGroup.getMembershipEpoch();
+            if (this.claimTrustEpoch != epoch) {
+                this.claimTrustCache.clear();
+                this.claimTrustEpoch = epoch;
+            }
+        }
+
+        var version = Integer.toUnsignedLong(other.playerVersion);
+        if (this.claimTrustCache.containsKey(other)) {
+            var cached = this.claimTrustCache.getLong(other);
+
+            if ((cached >>> 1) == version) {
+                return (cached & 1) != 0;
+            }
+        }
+
+        var value = this.hasPermission(other.owners) || this.hasPermission(other.trusted);
+
+        // Claims only ever meet their neighbours, but keep it bounded anyway
+        if (this.claimTrustCache.size() >= 256) {
+            this.claimTrustCache.clear();
+        }
+
+        this.claimTrustCache.put(other, (version << 1) | (value ? 1 : 0));
+        return value;
+    }
+
+    private static boolean isPartOfAny(Collection<PlayerGroup> groups, UUID uuid) {
+        for (var group : groups) {
             if (group.isPartOf(uuid)) {
                 return true;
             }
         }
-        return hasDirectPermission(uuid);
+        return false;
     }
 
 
@@ -115,44 +304,87 @@ public class Claim {
     }
 
     public void trust(PlayerEntity player) {
-        trusted.add(player.getUuid());
+        trust(player.getUuid());
     }
 
     public void trust(UUID uuid) {
-        trusted.add(uuid);
+        if (trusted.add(uuid)) {
+            this.updatePlayerIndex(uuid);
+        }
     }
 
     public void trust(PlayerGroup group) {
         getGroups().add(group);
         group.addClaim(this);
+        this.groupPermissionCache.clear();
+        this.claimTrustCache.clear();
+        this.updateGroupIndex();
     }
 
     public void untrust(PlayerEntity player) {
-        trusted.remove(player.getUuid());
+        untrust(player.getUuid());
     }
 
     public void untrust(PlayerGroup group) {
         getGroups().remove(group);
         group.removeClaim(this);
+        this.groupPermissionCache.clear();
+        this.claimTrustCache.clear();
+        this.updateGroupIndex();
     }
 
     public void untrust(UUID uuid) {
-        trusted.remove(uuid);
+        if (trusted.remove(uuid)) {
+            this.updatePlayerIndex(uuid);
+        }
+    }
+
+    public boolean hasTrustedGroups() {
+        return (this.trustedGroups != null && !this.trustedGroups.isEmpty()) || !this.trustedGroupKeys.isEmpty();
+    }
+
+    private void updatePlayerIndex(UUID uuid) {
+        this.playerVersion++;
+        this.claimTrustCache.clear();
+        this.markDirty();
+        var component = this.getComponent();
+        if (component != null) {
+            component.internal_updatePlayer(this, uuid);
+        }
+    }
+
+    private void updateGroupIndex() {
+        this.markDirty();
+        var component = this.getComponent();
+        if (component != null) {
+            component.internal_updateGroups(this);
+        }
+    }
+
+    @Nullable
+    private ClaimComponent getComponent() {
+        var world = this.server != null ? getWorldInstance(this.server) : null;
+        return world != null ? GetOffMyLawn.CLAIM.get(world) : null;
     }
 
     /**
      * Returns the {@link UUID}s of the owners of the claim.
      *
      * <p>The owner is defined as the player who placed the claim block, or someone added through the goml command.
+     * The returned set can't be modified, use {@link #addOwner(UUID)} and {@link #removeOwner(UUID)} instead.
      *
      * @return  claim owner's UUIDs
      */
     public Set<UUID> getOwners() {
-        return owners;
+        return Collections.unmodifiableSet(this.owners);
     }
 
+    /**
+     * Returns the {@link UUID}s of players trusted in the claim.
+     * The returned set can't be modified, use {@link #trust(UUID)} and {@link #untrust(UUID)} instead.
+     */
     public Set<UUID> getTrusted() {
-        return trusted;
+        return Collections.unmodifiableSet(this.trusted);
     }
 
     /**
@@ -210,14 +442,33 @@ public class Claim {
         nbt.put(TRUSTED_KEY, trustedTag);
         nbt.put(TRUSTED_GROUP_KEY, trustedGroupsTag);
         nbt.putLong(POSITION_KEY, origin.asLong());
-        if (this.icon != null) {
+        if (this.rawIcon != null) {
+            nbt.put(ICON_KEY, this.rawIcon.copy());
+        } else if (this.icon != null) {
             nbt.put(ICON_KEY, this.icon.writeNbt(new NbtCompound()));
         }
         nbt.putString(TYPE_KEY, Registries.BLOCK.getId(this.type).toString());
 
         var customData = new NbtCompound();
 
+        if (this.rawCustomData != null) {
+            for (var stringKey : this.rawCustomData.getKeys()) {
+                var dataKey = DataKey.getKey(Identifier.tryParse(stringKey));
+
+                var value = this.rawCustomData.get(stringKey);
+
+                if (dataKey == null || (!this.customData.containsKey(dataKey) && !isDefaultData(dataKey, value))) {
+                    customData.put(stringKey, value.copy());
+                }
+            }
+        }
+
         for (var entry : this.customData.entrySet()) {
+            // Defaults are what getData returns anyway, so there's no need to save them
+            if (Objects.equals(entry.getValue(), entry.getKey().defaultValue())) {
+                continue;
+            }
+
             var value = entry.getKey().serializer().apply(entry.getValue());
 
             if (value != null) {
@@ -241,6 +492,7 @@ public class Claim {
         nbt.put(AUGMENTS_KEY, augments);
 
         nbt.put(BOX_KEY, this.claimBox.toNbt());
+        nbt.putLong(ID_KEY, this.id);
 
 
         return nbt;
@@ -274,9 +526,7 @@ public class Claim {
         }
 
         if (nbt.contains(ICON_KEY, NbtElement.COMPOUND_TYPE)) {
-            claim.icon = ItemStack.fromNbt(nbt.getCompound(ICON_KEY));
-        } else if (nbt.contains(ICON_KEY, NbtElement.COMPOUND_TYPE)) {
-            claim.icon = ItemStack.fromNbt(nbt.getCompound(ICON_KEY));
+            claim.rawIcon = nbt.getCompound(ICON_KEY);
         } else if (nbt.contains(TYPE_KEY, NbtElement.STRING_TYPE)) {
             var block = Registries.BLOCK.get(Identifier.tryParse(nbt.getString(TYPE_KEY)));
             if (block instanceof ClaimAnchorBlock anchorBlock) {
@@ -284,15 +534,14 @@ public class Claim {
             }
         }
 
+        // Most claims never get their data or icon looked at, so they're only decoded once something asks for them
         var customData = nbt.getCompound(CUSTOM_DATA_KEY);
+        if (!customData.isEmpty()) {
+            claim.rawCustomData = customData;
+        }
 
-        for (var stringKey : customData.getKeys()) {
-            var key = Identifier.tryParse(stringKey);
-            var dataKey = DataKey.getKey(key);
-
-            if (dataKey != null) {
-                claim.customData.put((DataKey<Object>) dataKey, dataKey.deserializer().apply(customData.get(stringKey)));
-            }
+        if (nbt.contains(ID_KEY, NbtElement.LONG_TYPE)) {
+            claim.id = nbt.getLong(ID_KEY);
         }
 
         if (version == 0) {
@@ -307,7 +556,8 @@ public class Claim {
             var type = GOMLAugments.get(Identifier.tryParse(value.getString("Type")));
 
             if (pos != null && type != null) {
-                claim.augments.put(pos, type);
+                claim.onAugmentRemoved(claim.augments.put(pos, type));
+                claim.onAugmentAdded(type);
             }
         }
 
@@ -315,6 +565,10 @@ public class Claim {
             claim.trustedGroupKeys.add(PlayerGroup.Key.of(string.asString()));
         }
 
+        // Nothing changed yet, unless an augment updates its data while loading
+        claim.dirty = false;
+        claim.savedNbt = nbt;
+
         for (var augment : claim.augments.entrySet()) {
             augment.getValue().onLoaded(claim, augment.getKey());
         }
@@ -331,6 +585,11 @@ public class Claim {
         return server.getWorld(RegistryKey.of(RegistryKeys.WORLD, getWorld()));
     }
 
+    @Nullable
+    public MinecraftServer getServer() {
+        return this.server;
+    }
+
     @Nullable
     @Deprecated
     public ClaimAnchorBlockEntity getBlockEntityInstance(MinecraftServer server) {
@@ -341,30 +600,66 @@ public class Claim {
     }
 
     public ItemStack getIcon() {
+        if (this.icon == null && this.rawIcon != null) {
+            this.icon = ItemStack.fromNbt(this.rawIcon);
+        }
+
         return this.icon != null ? this.icon.copy() : Items.STONE.getDefaultStack();
     }
 
+    /**
+     * Returns the value stored for the key, or its shared default value without storing it.
+     * The result must not be modified: it doesn't mark the claim as changed, so in place changes aren't saved,
+     * and defaults are shared between all claims. Use {@link #getMutableData(DataKey)} or
+     * {@link #setData(DataKey, Object)} instead.
+     */
     @Nullable
     public <T> T getData(DataKey<T> key) {
         try {
             var val = this.customData.get(key);
             if (val == null) {
-                val = key.defaultSupplier().get();
-                this.customData.put((DataKey<Object>) key, val);
+                val = this.decodeRawData(key);
             }
 
-            return (T) val;
+            return val != null ? (T) val : key.defaultValue();
         } catch (Exception e) {
             return key.defaultValue();
         }
     }
 
+    /**
+     * Returns the value stored for the key, storing a fresh default value first if there's none.
+     * The claim gets marked as changed, so modifying the result in place is saved.
+     */
+    @Nullable
+    public <T> T getMutableData(DataKey<T> key) {
+        var val = (T) this.customData.get(key);
+        if (val == null) {
+            try {
+                val = this.decodeRawData(key);
+            } catch (Exception e) {
+                val = null;
+            }
+        }
+        if (val == null) {
+            val = key.defaultSupplier() != null ? key.defaultSupplier().get() : key.defaultValue();
+            if (val != null) {
+                this.customData.put((DataKey<Object>) key, val);
+            }
+        }
+
+        this.markDirty();
+        return val;
+    }
+
     public <T> void setData(DataKey<T> key, T data) {
+        this.dropRawData(key);
         if (data != null) {
             this.customData.put((DataKey<Object>) key, data);
         } else {
             this.customData.remove(key);
         }
+        this.markDirty();
     }
 
     public <T> void removeData(DataKey<T> key) {
@@ -372,14 +667,52 @@ public class Claim {
     }
 
     public Collection<DataKey<?>> getDataKeys() {
+        if (this.rawCustomData != null) {
+            for (var stringKey : this.rawCustomData.getKeys()) {
+                var dataKey = DataKey.getKey(Identifier.tryParse(stringKey));
+                if (dataKey != null && !this.customData.containsKey(dataKey)) {
+                    this.decodeRawData(dataKey);
+                }
+            }
+        }
+
         return Collections.unmodifiableCollection(this.customData.keySet());
     }
 
+    /**
+     * Checks if loaded NBT just holds the default value, which older versions saved for every key they looked at.
+     */
+    private static boolean isDefaultData(DataKey<?> key, NbtElement value) {
+        return key.defaultValue() != null && value.equals(((DataKey<Object>) key).serializer().apply(key.defaultValue()));
+    }
+
+    @Nullable
+    private <T> T decodeRawData(DataKey<T> key) {
+        var element = this.rawCustomData != null ? this.rawCustomData.get(key.key().toString()) : null;
+        if (element == null) {
+            return null;
+        }
+
+        var val = key.deserializer().apply(element);
+        if (val != null) {
+            this.customData.put((DataKey<Object>) key, val);
+        }
+        return val;
+    }
+
+    private void dropRawData(DataKey<?> key) {
+        var stringKey = key.key().toString();
+        if (this.rawCustomData != null && this.rawCustomData.contains(stringKey)) {
+            this.rawCustomData = this.rawCustomData.copy();
+            this.rawCustomData.remove(stringKey);
+        }
+    }
+
     public void openUi(ServerPlayerEntity player) {
         var gui = new SimpleGui(ScreenHandlerType.HOPPER, player, false);
         gui.setTitle(Text.translatable("text.goml.gui.claim.title"));
 
-        gui.addSlot(GuiElementBuilder.from(this.icon)
+        gui.addSlot(GuiElementBuilder.from(this.getIcon())
                 .setName(Text.translatable("text.goml.gui.claim.about"))
                 .setLore(ClaimUtils.getClaimText(player.server, this))
         );
@@ -426,11 +759,14 @@ public class Claim {
     @ApiStatus.Internal
     public void internal_setIcon(ItemStack stack) {
         this.icon = stack.copy();
+        this.rawIcon = null;
+        this.markDirty();
     }
 
     @ApiStatus.Internal
     public void internal_setType(ClaimAnchorBlock anchorBlock) {
         this.type = anchorBlock;
+        this.markDirty();
     }
 
     @ApiStatus.Internal
@@ -441,6 +777,7 @@ public class Claim {
     @ApiStatus.Internal
     public void internal_setClaimBox(ClaimBox box) {
         this.claimBox = box;
+        this.markDirty();
     }
 
     @ApiStatus.Internal
@@ -464,13 +801,7 @@ public class Claim {
         var maxX = ChunkSectionPos.getSectionCoord(this.claimBox.toBox().x2());
         var maxZ = ChunkSectionPos.getSectionCoord(this.claimBox.toBox().z2());
 
-        for (var x = minX; x <= maxX; x++) {
-            for (var z = minZ; z <= maxZ; z++) {
-                if (world.isChunkLoaded(x, z)) {
-                    this.chunksLoadedCount++;
-                }
-            }
-        }
+        this.chunksLoadedCount = GetOffMyLawn.CLAIM.get(world).countLoadedChunks(minX, minZ, maxX, maxZ);
 
         if (this.chunksLoadedCount == 0) {
             this.clearTickedPlayers();
@@ -487,22 +818,77 @@ public class Claim {
                     }
                 }
             }
+            this.previousTickPlayers.clear();
         }
     }
 
     public void addAugment(BlockPos pos, Augment augment) {
-        this.augments.put(pos, augment);
+        this.onAugmentRemoved(this.augments.put(pos, augment));
+        this.onAugmentAdded(augment);
         for (var player : this.previousTickPlayers) {
             augment.onPlayerEnter(this, player);
         }
+        this.updateTicking();
+        this.markDirty();
     }
 
     public void removeAugment(BlockPos pos) {
         var augment = this.augments.remove(pos);
         if (augment != null) {
+            this.onAugmentRemoved(augment);
             for (var player : this.previousTickPlayers) {
                 augment.onPlayerExit(this, player);
             }
+            this.updateTicking();
+            this.markDirty();
+        }
+    }
+
+    /**
+     * Checks if any augment wants to be ticked even with nobody inside the claim.
+     */
+    public boolean hasTickingAugment() {
+        for (var augment : this.augments.values()) {
+            if (augment != null && augment.ticks()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the augment should tick at the given world time.
+     */
+    public boolean isAugmentDue(Augment augment, long time) {
+        var interval = augment.tickInterval();
+        return interval <= 1 || Math.floorMod(time + this.tickPhase + augment.tickPhase(), interval) == 0;
+    }
+
+    /**
+     * Returns the first world time at or after the given one at which a ticking augment is due,
+     * or {@link Long#MAX_VALUE} if there are no ticking augments.
+     */
+    public long getNextAugmentTick(long time) {
+        var next = Long.MAX_VALUE;
+
+        for (var augment : this.augments.values()) {
+            if (augment != null && augment.ticks()) {
+                var interval = augment.tickInterval();
+                var due = interval <= 1 ? time : time + Math.floorMod(-(time + this.tickPhase + augment.tickPhase()), interval);
+
+                if (due < next) {
+                    next = due;
+                }
+            }
+        }
+
+        return next;
+    }
+
+    private void updateTicking() {
+        var component = this.getComponent();
+        if (component != null) {
+            component.internal_updateTicking(this);
         }
     }
 
@@ -511,12 +897,54 @@ public class Claim {
     }
 
     public boolean hasAugment(Augment augment) {
-        for (var a : this.augments.values()) {
-            if (a == augment) {
-                return true;
+        var index = GOMLAugments.getIndex(augment);
+
+        if (index == -1) {
+            for (var a : this.augments.values()) {
+                if (a == augment) {
+                    return true;
+                }
             }
+            return false;
+        } else if (index < 64) {
+            return (this.augmentMask & (1L << index)) != 0;
+        }
+
+        return index < this.augmentCounts.length && this.augmentCounts[index] > 0;
+    }
+
+    /**
+     * Returns a mask with bit {@link GOMLAugments#getIndex(Augment)} set for every augment type in this claim.
+     * Only covers the first 64 registered augments.
+     */
+    public long getAugmentMask() {
+        return this.augmentMask;
+    }
+
+    private void onAugmentAdded(@Nullable Augment augment) {
+        var index = augment != null ? GOMLAugments.getIndex(augment) : -1;
+        if (index == -1) {
+            return;
+        }
+
+        if (index >= this.augmentCounts.length) {
+            this.augmentCounts = Arrays.copyOf(this.augmentCounts, index + 1);
+        }
+
+        if (this.augmentCounts[index]++ == 0 && index < 64) {
+            this.augmentMask |= 1L << index;
+        }
+    }
+
+    private void onAugmentRemoved(@Nullable Augment augment) {
+        var index = augment != null ? GOMLAugments.getIndex(augment) : -1;
+        if (index == -1 || index >= this.augmentCounts.length || this.augmentCounts[index] == 0) {
+            return;
+        }
+
+        if (--this.augmentCounts[index] == 0 && index < 64) {
+            this.augmentMask &= ~(1L << index);
         }
-        return false;
     }
 
     public Map<BlockPos, Augment> getAugments() {
@@ -547,37 +975,64 @@ public class Claim {
 
     public void tick(ServerWorld world) {
         if (this.chunksLoadedCount > 0) {
-            var playersInClaim = world.getEntitiesByClass(PlayerEntity.class, this.claimBox.minecraftBox(), entity -> true);
+            this.tick(world, world.getEntitiesByClass(PlayerEntity.class, this.claimBox.minecraftBox(), entity -> true));
+        }
+    }
+
+    /**
+     * Ticks this claim with an already known list of players inside it.
+     */
+    public void tick(ServerWorld world, List<PlayerEntity> playersInClaim) {
+        if (this.chunksLoadedCount > 0) {
+            var time = world.getTime();
+
+            // Work out who entered and left once, instead of comparing player lists for every augment
+            var current = this.currentTickPlayers;
+            var previous = this.previousTickPlayers;
+            var entered = this.enteredPlayers;
+            var exited = this.exitedPlayers;
+            current.addAll(playersInClaim);
+
+            for (var player : current) {
+                if (!previous.contains(player)) {
+                    entered.add(player);
+                }
+            }
+
+            for (var player : previous) {
+                if (!current.contains(player)) {
+                    exited.add(player);
+                }
+            }
 
             // Tick all augments
             for (var augment : this.augments.values()) {
 
                 if (augment != null && augment.isEnabled(this, world)) {
-                    if (augment.ticks()) {
+                    if (augment.ticks() && this.isAugmentDue(augment, time)) {
                         augment.tick(this, world);
-                        for (var playerEntity : playersInClaim) {
+                        for (var playerEntity : current) {
                             augment.playerTick(this, playerEntity);
                         }
                     }
 
                     // Enter/Exit behavior
-                    for (var playerEntity : playersInClaim) {
-                        // this player was NOT in the claim last tick, call entry method
-                        if (!this.previousTickPlayers.contains(playerEntity)) {
-                            augment.onPlayerEnter(this, playerEntity);
-                        }
+                    for (var playerEntity : entered) {
+                        augment.onPlayerEnter(this, playerEntity);
                     }
 
-                    // Tick exit behavior
-                    this.previousTickPlayers.stream().filter(player -> !playersInClaim.contains(player)).forEach(player -> {
-                        augment.onPlayerExit(this, player);
-                    });
+                    for (var playerEntity : exited) {
+                        augment.onPlayerExit(this, playerEntity);
+                    }
                 }
             }
 
             // Reset players in claim
-            this.previousTickPlayers.clear();
-            this.previousTickPlayers.addAll(playersInClaim);
+            this.previousTickPlayers = current;
+            this.currentTickPlayers = previous;
+            previous.clear();
+            entered.clear();
+            exited.clear();
         }
     }
 
@@ -610,6 +1065,8 @@ public class Claim {
         if (world != null) {
             GetOffMyLawn.CLAIM.get(world).remove(this);
         }
+        this.groupPermissionCache.clear();
+        this.claimTrustCache.clear();
         if (!this.destroyed) {
             this.destroyed = true;
             ClaimEvents.CLAIM_DESTROYED.invoker().onEvent(this);
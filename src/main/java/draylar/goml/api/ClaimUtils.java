@@ -1,13 +1,19 @@
 package draylar.goml.api;
 
 import com.jamieswhiteshirt.rtree3i.Box;
+import com.jamieswhiteshirt.rtree3i.ConfigurationBuilder;
 import com.jamieswhiteshirt.rtree3i.Entry;
+import com.jamieswhiteshirt.rtree3i.RTreeMap;
 import com.jamieswhiteshirt.rtree3i.Selection;
 import draylar.goml.EventHandlers;
 import draylar.goml.GetOffMyLawn;
 import draylar.goml.api.event.ClaimEvents;
 import draylar.goml.block.augment.ExplosionControllerAugmentBlock;
 import draylar.goml.block.entity.ClaimAnchorBlockEntity;
+import draylar.goml.cca.ClaimChunkIndex;
+import draylar.goml.cca.ClaimComponent;
+import draylar.goml.cca.ClaimIdRegistry;
+import draylar.goml.other.ClaimCacheOwner;
 import draylar.goml.other.GomlPlayer;
 import draylar.goml.other.OriginOwner;
 import draylar.goml.other.StatusEnum;
@@ -31,23 +37,115 @@ import net.minecraft.util.Pair;
 import net.minecraft.util.math.*;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldView;
-import org.apache.commons.lang3.mutable.MutableBoolean;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public class ClaimUtils {
+    private static final Selection<Entry<ClaimBox, Claim>> EMPTY = RTreeMap.<ClaimBox, Claim>create(new ConfigurationBuilder().star().build(), ClaimBox::toBox).entries();
 
     /**
      * Returns all claims at the given position in the given world.
+     * <p>If claims changed since the last call, this has to bring the claim tree up to date first,
+     * so prefer {@link #getClaimListAt} or the point queries below in code that runs often.
      *
      * @param world world to check for claim in
      * @param pos   position to check at
      * @return claims at the given position in the given world
      */
     public static Selection<Entry<ClaimBox, Claim>> getClaimsAt(WorldView world, BlockPos pos) {
+        var component = GetOffMyLawn.CLAIM.get(world);
+
+        if (!component.hasClaimAt(pos.getX(), pos.getY(), pos.getZ())) {
+            return EMPTY;
+        }
+
         Box checkBox = Box.create(pos.getX(), pos.getY(), pos.getZ(), pos.getX() + 1, pos.getY() + 1, pos.getZ() + 1);
-        return GetOffMyLawn.CLAIM.get(world).getClaims().entries(box -> box.contains(checkBox));
+        return component.getClaims().entries(box -> box.contains(checkBox));
+    }
+
+    /**
+     * Returns a new list of all claims at the given position, using the chunk index instead of the claim tree.
+     * It's safe to destroy claims while iterating it.
+     *
+     * @param world world to check for claim in
+     * @param pos   position to check at
+     * @return claims at the given position in the given world
+     */
+    public static List<Claim> getClaimListAt(WorldView world, BlockPos pos) {
+        var list = new ArrayList<Claim>(2);
+        GetOffMyLawn.CLAIM.get(world).forEachClaimAt(pos.getX(), pos.getY(), pos.getZ(), list::add);
+        return list;
+    }
+
+    /**
+     * Returns the first claim containing the given block, without allocating a {@link Selection}.
+     *
+     * @param world world to check for claim in
+     * @return claim at the given position, or null if there is none
+     */
+    @Nullable
+    public static Claim firstClaimAt(WorldView world, int x, int y, int z) {
+        return GetOffMyLawn.CLAIM.get(world).getClaimAt(x, y, z);
+    }
+
+    /**
+     * Checks if there is any claim containing the given block.
+     *
+     * @param world world to check for claim in
+     * @return whether the given position is claimed
+     */
+    public static boolean hasClaimAt(WorldView world, int x, int y, int z) {
+        return GetOffMyLawn.CLAIM.get(world).hasClaimAt(x, y, z);
+    }
+
+    /**
+     * Passes every claim containing the given block to the consumer.
+     *
+     * @param world    world to check for claim in
+     * @param consumer called for each claim at the given position
+     */
+    public static void forEachClaimAt(WorldView world, int x, int y, int z, Consumer<Claim> consumer) {
+        GetOffMyLawn.CLAIM.get(world).forEachClaimAt(x, y, z, consumer);
+    }
+
+    /**
+     * Checks if any claim containing the given block matches the predicate. Stops at the first match.
+     *
+     * @param world     world to check for claim in
+     * @param predicate predicate to test claims with
+     * @return whether any claim at the given position matches the predicate
+     */
+    public static boolean anyClaimAt(WorldView world, int x, int y, int z, Predicate<Claim> predicate) {
+        return GetOffMyLawn.CLAIM.get(world).anyClaimAt(x, y, z, predicate);
+    }
+
+    /**
+     * Checks if the entity is inside any claim, using claims cached on the entity.
+     *
+     * @param entity entity to check
+     * @return whether the entity's block position is claimed
+     */
+    public static boolean hasClaimAt(Entity entity) {
+        return ((ClaimCacheOwner) entity).goml$getClaims().length != 0;
+    }
+
+    /**
+     * Checks if any claim the entity is inside matches the predicate, using claims cached on the entity.
+     *
+     * @param entity    entity to check
+     * @param predicate predicate to test claims with
+     * @return whether any claim at the entity's block position matches the predicate
+     */
+    public static boolean anyClaimAt(Entity entity, Predicate<Claim> predicate) {
+        for (var claim : ((ClaimCacheOwner) entity).goml$getClaims()) {
+            if (predicate.test(claim)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -58,7 +156,41 @@ public class ClaimUtils {
      * @return claims at the given position in the given world
      */
     public static Selection<Entry<ClaimBox, Claim>> getClaimsWithOrigin(WorldView world, BlockPos pos) {
-        return GetOffMyLawn.CLAIM.get(world).getClaims().entries().filter(x -> x.getValue().getOrigin().equals(pos));
+        var claims = GetOffMyLawn.CLAIM.get(world).getClaimsWithOrigin(pos);
+
+        if (claims.isEmpty()) {
+            return EMPTY;
+        }
+
+        var map = RTreeMap.<ClaimBox, Claim>create(new ConfigurationBuilder().star().build(), ClaimBox::toBox);
+        for (var claim : claims) {
+            map = map.put(claim.getClaimBox(), claim);
+        }
+        return map.entries();
+    }
+
+    /**
+     * Returns the first claim anchored at the given position, without allocating a {@link Selection}.
+     *
+     * @param world world to check for claim in
+     * @param pos   origin position of the claim
+     * @return claim with the given origin, or null if there is none
+     */
+    @Nullable
+    public static Claim firstClaimWithOrigin(WorldView world, BlockPos pos) {
+        var claims = GetOffMyLawn.CLAIM.get(world).getClaimsWithOrigin(pos);
+        return claims.isEmpty() ? null : claims.get(0);
+    }
+
+    /**
+     * Returns the claim with the given id in any world of the server.
+     *
+     * @param id id of the claim, as returned by {@link Claim#getId()}
+     * @return claim with the given id, or null if there is none
+     */
+    @Nullable
+    public static Claim getClaimById(long id) {
+        return ClaimIdRegistry.get(id);
     }
 
     /**
@@ -100,6 +232,84 @@ public class ClaimUtils {
         return GetOffMyLawn.CLAIM.get(world).getClaims().entries().filter(entry -> entry.getValue().hasPermission(player));
     }
 
+    /**
+     * Returns claims in the given world owned by the player, without checking every claim.
+     *
+     * @param world  world to check for claim in
+     * @param player player's uuid to find by
+     * @return live view of claims owned by the player
+     */
+    public static Collection<Claim> getOwnedClaims(WorldView world, UUID player) {
+        return GetOffMyLawn.CLAIM.get(world).getClaimsOwnedBy(player);
+    }
+
+    /**
+     * Returns claims in all worlds owned by the player.
+     *
+     * @param server server to check worlds of
+     * @param player player's uuid to find by
+     * @return claims owned by the player
+     */
+    public static List<Claim> getOwnedClaims(MinecraftServer server, UUID player) {
+        var list = new ArrayList<Claim>();
+        for (var world : server.getWorlds()) {
+            list.addAll(GetOffMyLawn.CLAIM.get(world).getClaimsOwnedBy(player));
+        }
+        return list;
+    }
+
+    /**
+     * Returns claims in the given world where the player is directly trusted, without checking every claim.
+     *
+     * @param world  world to check for claim in
+     * @param player player's uuid to find by
+     * @return live view of claims trusting the player
+     */
+    public static Collection<Claim> getTrustedClaims(WorldView world, UUID player) {
+        return GetOffMyLawn.CLAIM.get(world).getClaimsTrusting(player);
+    }
+
+    /**
+     * Returns claims in all worlds where the player is directly trusted.
+     *
+     * @param server server to check worlds of
+     * @param player player's uuid to find by
+     * @return claims trusting the player
+     */
+    public static List<Claim> getTrustedClaims(MinecraftServer server, UUID player) {
+        var list = new ArrayList<Claim>();
+        for (var world : server.getWorlds()) {
+            list.addAll(GetOffMyLawn.CLAIM.get(world).getClaimsTrusting(player));
+        }
+        return list;
+    }
+
+    /**
+     * Returns claims in the given world the player has access to, including through groups.
+     *
+     * @param world  world to check for claim in
+     * @param player player's uuid to find by
+     * @return claims the player has access to
+     */
+    public static Collection<Claim> getAccessibleClaims(WorldView world, UUID player) {
+        return GetOffMyLawn.CLAIM.get(world).getClaimsWithAccess(player);
+    }
+
+    /**
+     * Returns claims in all worlds the player has access to, including through groups.
+     *
+     * @param server server to check worlds of
+     * @param player player's uuid to find by
+     * @return claims the player has access to
+     */
+    public static List<Claim> getAccessibleClaims(MinecraftServer server, UUID player) {
+        var list = new ArrayList<Claim>();
+        for (var world : server.getWorlds()) {
+            list.addAll(GetOffMyLawn.CLAIM.get(world).getClaimsWithAccess(player));
+        }
+        return list;
+    }
+
     /**
      * Returns all claims that intersect with a box created by the 2 given positions.
      *
@@ -114,11 +324,27 @@ public class ClaimUtils {
     }
 
     public static Selection<Entry<ClaimBox, Claim>> getClaimsInBox(WorldView world, Box checkBox) {
-        return GetOffMyLawn.CLAIM.get(world).getClaims().entries(box -> box.intersectsClosed(checkBox));
+        var component = GetOffMyLawn.CLAIM.get(world);
+
+        if (!hasClaimInBox(component, checkBox)) {
+            return EMPTY;
+        }
+
+        return component.getClaims().entries(box -> box.intersectsClosed(checkBox));
     }
 
     public static Selection<Entry<ClaimBox, Claim>> getClaimsInOpenBox(WorldView world, Box checkBox) {
-        return GetOffMyLawn.CLAIM.get(world).getClaims().entries(box -> box.intersectsOpen(checkBox));
+        var component = GetOffMyLawn.CLAIM.get(world);
+
+        if (!hasClaimInBox(component, checkBox)) {
+            return EMPTY;
+        }
+
+        return component.getClaims().entries(box -> box.intersectsOpen(checkBox));
+    }
+
+    private static boolean hasClaimInBox(ClaimComponent component, Box checkBox) {
+        return component.hasClaimInBox(checkBox.x1(), checkBox.y1(), checkBox.z1(), checkBox.x2(), checkBox.y2(), checkBox.z2());
     }
 
     public static Box createBox(int x1, int y1, int z1, int x2, int y2, int z2) {
@@ -141,11 +367,17 @@ public class ClaimUtils {
      */
     public static Selection<Entry<ClaimBox, Claim>> getClaimsInBox(WorldView world, BlockPos lower, BlockPos upper, Box ignore) {
         Box checkBox = Box.create(lower.getX(), lower.getY(), lower.getZ(), upper.getX(), upper.getY(), upper.getZ());
-        return GetOffMyLawn.CLAIM.get(world).getClaims().entries(box -> box.intersectsClosed(checkBox) && !box.equals(ignore));
+        return getClaimsInBox(world, checkBox, ignore);
     }
 
     public static Selection<Entry<ClaimBox, Claim>> getClaimsInBox(WorldView world, Box checkBox, Box ignore) {
-        return GetOffMyLawn.CLAIM.get(world).getClaims().entries(box -> box.intersectsClosed(checkBox) && !box.equals(ignore));
+        var component = GetOffMyLawn.CLAIM.get(world);
+
+        if (!hasClaimInBox(component, checkBox)) {
+            return EMPTY;
+        }
+
+        return component.getClaims().entries(box -> box.intersectsClosed(checkBox) && !box.equals(ignore));
     }
 
     /**
@@ -157,11 +389,19 @@ public class ClaimUtils {
      * @return whether or not the claim information matches up with the player and position
      */
     public static boolean canDestroyClaimBlock(Entry<ClaimBox, Claim> claim, @Nullable PlayerEntity checkPlayer, BlockPos checkPos) {
-        return (checkPlayer == null || playerHasPermission(claim, checkPlayer)) && claim.getValue().getOrigin().equals(checkPos);
+        return canDestroyClaimBlock(claim.getValue(), checkPlayer, checkPos);
+    }
+
+    public static boolean canDestroyClaimBlock(Claim claim, @Nullable PlayerEntity checkPlayer, BlockPos checkPos) {
+        return (checkPlayer == null || claim.getOwners().contains(checkPlayer.getUuid()) || isInAdminMode(checkPlayer)) && claim.getOrigin().equals(checkPos);
     }
 
     public static boolean canModifyClaimAt(World world, BlockPos pos, Entry<ClaimBox, Claim> claim, PlayerEntity player) {
-        return claim.getValue().hasPermission(player)
+        return canModifyClaimAt(world, pos, claim.getValue(), player);
+    }
+
+    public static boolean canModifyClaimAt(World world, BlockPos pos, Claim claim, PlayerEntity player) {
+        return claim.hasPermission(player)
                 || isInAdminMode(player)
                 || ClaimEvents.PERMISSION_DENIED.invoker().check(player, world, Hand.MAIN_HAND, pos, PermissionReason.AREA_PROTECTED) == ActionResult.SUCCESS;
     }
@@ -171,41 +411,139 @@ public class ClaimUtils {
     }
 
     public static boolean canFireDestroy(World world, BlockPos pos) {
-        return ClaimUtils.getClaimsAt(world, pos).isEmpty();
+        return !hasClaimAt(world, pos.getX(), pos.getY(), pos.getZ());
     }
 
     public static boolean canFluidFlow(World world, BlockPos cur, BlockPos dest) {
-        var claimsDest = ClaimUtils.getClaimsAt(world, dest);
-        var claimsCur = ClaimUtils.getClaimsAt(world, cur);
-        return claimsDest.isEmpty() || claimsCur.anyMatch(x -> claimsCur.anyMatch(y -> x.equals(y)));
+        var component = GetOffMyLawn.CLAIM.get(world);
+
+        if (!component.hasClaimAt(dest.getX(), dest.getY(), dest.getZ())) {
+            return true;
+        }
+
+        // Fluids may only spread within a claim, not into it from a neighbouring one
+        var x = cur.getX();
+        var y = cur.getY();
+        var z = cur.getZ();
+        return component.anyClaimAt(dest.getX(), dest.getY(), dest.getZ(), claim -> ClaimChunkIndex.contains(claim.getClaimBox().toBox(), x, y, z));
     }
 
     public static boolean canExplosionDestroy(World world, BlockPos pos, @Nullable Entity causingEntity) {
-        Selection<Entry<ClaimBox, Claim>> claimsFound = ClaimUtils.getClaimsAt(world, pos);
+        var component = GetOffMyLawn.CLAIM.get(world);
 
-        PlayerEntity player;
+        if (!component.hasClaimAt(pos.getX(), pos.getY(), pos.getZ())) {
+            return true;
+        }
 
-        if (causingEntity instanceof PlayerEntity playerEntity) {
-            player = playerEntity;
-        } else if (!GetOffMyLawn.CONFIG.protectAgainstHostileExplosionsActivatedByTrustedPlayers && causingEntity instanceof MobEntity creeperEntity && creeperEntity.getTarget() instanceof PlayerEntity playerEntity) {
-            player = playerEntity;
-        } else {
-            player = null;
+        var player = getExplosionPlayer(causingEntity);
+
+        if (player != null) {
+            return !component.anyClaimAt(pos.getX(), pos.getY(), pos.getZ(), claim -> !canModifyClaimAt(world, pos, claim, player));
         }
 
-        if (player != null && claimsFound.isNotEmpty()) {
-            return !claimsFound.anyMatch((Entry<ClaimBox, Claim> boxInfo) -> !canModifyClaimAt(world, pos, boxInfo, player));
+        if (world.getServer() == null) {
+            return false;
+        }
+
+        return component.anyClaimAt(pos.getX(), pos.getY(), pos.getZ(), ClaimUtils::allowsExplosions);
+    }
+
+    /**
+     * Returns the smallest box containing all given positions, or null if there are none.
+     */
+    @Nullable
+    public static BlockBox getBounds(Iterable<BlockPos> positions) {
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        var empty = true;
+
+        for (var pos : positions) {
+            minX = Math.min(minX, pos.getX());
+            minY = Math.min(minY, pos.getY());
+            minZ = Math.min(minZ, pos.getZ());
+            maxX = Math.max(maxX, pos.getX());
+            maxY = Math.max(maxY, pos.getY());
+            maxZ = Math.max(maxZ, pos.getZ());
+            empty = false;
         }
 
-        return claimsFound.isEmpty() || claimsFound.anyMatch((c) -> {
-            if (world.getServer() != null) {
-                if (c.getValue().hasAugment(GOMLBlocks.EXPLOSION_CONTROLLER.getFirst())) {
-                    return c.getValue().getData(ExplosionControllerAugmentBlock.KEY) == StatusEnum.Toggle.DISABLED;
+        return empty ? null : new BlockBox(minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    /**
+     * Creates a filter matching {@link #canExplosionDestroy(World, BlockPos, Entity)} for positions within the given box.
+     * Claims in the box are looked up and judged once, so checking many positions only needs box checks.
+     *
+     * @return predicate returning true for positions the explosion can destroy
+     */
+    public static Predicate<BlockPos> createExplosionFilter(World world, int x1, int y1, int z1, int x2, int y2, int z2, @Nullable Entity causingEntity) {
+        var claims = new ArrayList<Claim>();
+        GetOffMyLawn.CLAIM.get(world).forEachClaimInBox(x1, y1, z1, x2, y2, z2, claims::add);
+
+        if (claims.isEmpty()) {
+            return pos -> true;
+        }
+
+        var player = getExplosionPlayer(causingEntity);
+        var boxes = new Box[claims.size()];
+        var allowed = new boolean[claims.size()];
+
+        if (player != null) {
+            var adminMode = isInAdminMode(player);
+
+            for (int i = 0; i < boxes.length; i++) {
+                boxes[i] = claims.get(i).getClaimBox().toBox();
+                allowed[i] = adminMode || claims.get(i).hasPermission(player);
+            }
+
+            return pos -> {
+                for (int i = 0; i < boxes.length; i++) {
+                    // Denied claims still give the event a chance to allow it, like canModifyClaimAt does
+                    if (!allowed[i] && ClaimChunkIndex.contains(boxes[i], pos.getX(), pos.getY(), pos.getZ())
+                            && ClaimEvents.PERMISSION_DENIED.invoker().check(player, world, Hand.MAIN_HAND, pos, PermissionReason.AREA_PROTECTED) != ActionResult.SUCCESS) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+
+        var hasServer = world.getServer() != null;
+
+        for (int i = 0; i < boxes.length; i++) {
+            boxes[i] = claims.get(i).getClaimBox().toBox();
+            allowed[i] = hasServer && allowsExplosions(claims.get(i));
+        }
+
+        return pos -> {
+            var claimed = false;
+
+            for (int i = 0; i < boxes.length; i++) {
+                if (ClaimChunkIndex.contains(boxes[i], pos.getX(), pos.getY(), pos.getZ())) {
+                    if (allowed[i]) {
+                        return true;
+                    }
+                    claimed = true;
                 }
             }
+            return !claimed;
+        };
+    }
 
-            return false;
-        });
+    @Nullable
+    private static PlayerEntity getExplosionPlayer(@Nullable Entity causingEntity) {
+        if (causingEntity instanceof PlayerEntity playerEntity) {
+            return playerEntity;
+        } else if (!GetOffMyLawn.CONFIG.protectAgainstHostileExplosionsActivatedByTrustedPlayers && causingEntity instanceof MobEntity creeperEntity && creeperEntity.getTarget() instanceof PlayerEntity playerEntity) {
+            return playerEntity;
+        } else {
+            return null;
+        }
+    }
+
+    private static boolean allowsExplosions(Claim claim) {
+        return claim.hasAugment(GOMLBlocks.EXPLOSION_CONTROLLER.getFirst())
+                && claim.getData(ExplosionControllerAugmentBlock.KEY) == StatusEnum.Toggle.DISABLED;
     }
 
     public static boolean canDamageEntity(World world, Entity entity, DamageSource source) {
@@ -242,38 +580,34 @@ public class ClaimUtils {
         ) {
             return true;
         }
-        var claims = ClaimUtils.getClaimsAt(world, entity.getBlockPos());
+        var pos = entity.getBlockPos();
 
-        if (claims.isEmpty()) {
+        if (!hasClaimAt(entity)) {
             return true;
         }
 
         if (entity instanceof PlayerEntity attackedPlayer) {
-            claims = claims.filter((e) -> e.getValue().hasAugment(GOMLBlocks.PVP_ARENA.getFirst()));
-
-            if (claims.isEmpty()) {
+            if (!anyClaimAt(entity, ClaimUtils::isPvPArena)) {
                 return GetOffMyLawn.CONFIG.enablePvPinClaims;
-            } else {
-                var obj = new MutableBoolean(true);
-                claims.forEach((e) -> {
-                    if (!obj.getValue()) {
-                        return;
-                    }
-                    var claim = e.getValue();
-
-                    obj.setValue(switch (claim.getData(GOMLBlocks.PVP_ARENA.getFirst().key)) {
-                        case EVERYONE -> true;
-                        case DISABLED -> false;
-                        case TRUSTED -> claim.hasPermission(player) && claim.hasPermission(attackedPlayer);
-                        case UNTRUSTED -> !claim.hasPermission(player) && !claim.hasPermission(attackedPlayer);
-                    });
-                });
-
-                return obj.getValue();
             }
+
+            return !anyClaimAt(entity, claim -> isPvPArena(claim) && !allowsPvP(claim, player, attackedPlayer));
         }
 
-        return EventHandlers.testPermission(claims, player, Hand.MAIN_HAND, entity.getBlockPos(), PermissionReason.ENTITY_PROTECTED) != ActionResult.FAIL;
+        return EventHandlers.testPermission(world, player, Hand.MAIN_HAND, pos, PermissionReason.ENTITY_PROTECTED) != ActionResult.FAIL;
+    }
+
+    public static boolean isPvPArena(Claim claim) {
+        return claim.hasAugment(GOMLBlocks.PVP_ARENA.getFirst());
+    }
+
+    public static boolean allowsPvP(Claim claim, PlayerEntity attacker, PlayerEntity target) {
+        return switch (claim.getData(GOMLBlocks.PVP_ARENA.getFirst().key)) {
+            case EVERYONE -> true;
+            case DISABLED -> false;
+            case TRUSTED -> claim.hasPermission(attacker) && claim.hasPermission(target);
+            case UNTRUSTED -> !claim.hasPermission(attacker) && !claim.hasPermission(target);
+        };
     }
 
     public static boolean canModify(World world, BlockPos pos, @Nullable PlayerEntity player) {
@@ -281,12 +615,17 @@ public class ClaimUtils {
             return true;
         }
 
-        Selection<Entry<ClaimBox, Claim>> claimsFound = ClaimUtils.getClaimsAt(world, pos);
-        if (player != null && claimsFound.isNotEmpty()) {
-            return !claimsFound.anyMatch((Entry<ClaimBox, Claim> boxInfo) -> !canModifyClaimAt(world, pos, boxInfo, player));
+        var component = GetOffMyLawn.CLAIM.get(world);
+
+        if (!component.hasClaimAt(pos.getX(), pos.getY(), pos.getZ())) {
+            return true;
+        }
+
+        if (player != null) {
+            return !component.anyClaimAt(pos.getX(), pos.getY(), pos.getZ(), claim -> !canModifyClaimAt(world, pos, claim, player));
         }
 
-        return claimsFound.isEmpty();
+        return false;
     }
 
     @Nullable
@@ -297,11 +636,9 @@ public class ClaimUtils {
             GetOffMyLawn.LOGGER.warn(String.format("A claim anchor was requested at %s, but no Claim Anchor BE was found! Was the claim not properly removed? Removing the claim now.", claim.getOrigin().toString()));
 
             // Remove claim
-            GetOffMyLawn.CLAIM.get(world).getClaims().entries().forEach(entry -> {
-                if (entry.getValue() == claim) {
-                    claim.destroy();
-                }
-            });
+            if (GetOffMyLawn.CLAIM.get(world).getClaimById(claim.getId()) == claim) {
+                claim.destroy();
+            }
 
             return null;
         }
@@ -401,68 +738,91 @@ public class ClaimUtils {
         var box = claim.getClaimBox();
 
         var center = box.noShift() ? Vec3d.of(box.origin()) : Vec3d.ofCenter(box.getOrigin());
-        var vec = curPos.subtract(center);
         var r = (box.noShift() ? box.radius() - 0.5 : box.radius()) + extraDistance;
-        var angle = MathHelper.atan2(vec.z, vec.x);
-
-        var tan = Math.tan(angle);
 
-        if (Double.isNaN(tan)) {
-            tan = 1;
-        }
+        return getBorderPoint(center, r, curPos.x - center.x, curPos.z - center.z);
+    }
 
-        double x, z;
+    /**
+     * Projects the XZ offset from the center onto the edge of a square with the given half size, along the same ray.
+     * The result is the same as picking the side by angle, without needing any trigonometry.
+     */
+    public static Pair<Vec3d, Direction> getBorderPoint(Vec3d center, double r, double dx, double dz) {
+        var ax = Math.abs(dx);
+        var az = Math.abs(dz);
 
-        Direction dir = null;
+        if (ax == 0 && az == 0) {
+            return new Pair<>(center.add(r, 0, 0), Direction.EAST);
+        }
 
-        if (angle >= -MathHelper.HALF_PI / 2 && angle <= MathHelper.HALF_PI / 2) {
-            x = r;
-            z = tan * r;
+        Direction dir;
+        if (dx >= az) {
             dir = Direction.EAST;
-        } else if (angle >= MathHelper.HALF_PI / 2 && angle <= MathHelper.HALF_PI * 3 / 2) {
-            x = 1 / tan * r;
-            z = r;
+        } else if (dz >= ax) {
             dir = Direction.SOUTH;
-        } else if (angle <= -MathHelper.HALF_PI / 2 && angle >= -MathHelper.HALF_PI * 3 / 2) {
-            x = -1 / tan * r;
-            z = -r;
+        } else if (-dz >= ax) {
             dir = Direction.NORTH;
         } else {
-            x = -r;
-            z = -Math.tan(angle) * r;
             dir = Direction.WEST;
         }
 
-
-        return new Pair<>(center.add(x, 0, z), dir);
+        var scale = r / Math.max(ax, az);
+        return new Pair<>(center.add(dx * scale, 0, dz * scale), dir);
     }
 
     public static boolean hasMatchingClaims(World world, BlockPos target, BlockPos origin) {
         return hasMatchingClaims(world, target, origin, null);
     }
+    /**
+     * Checks if something coming from the origin position may affect the target position.
+     * <p>That's the case if the target isn't claimed, or it comes from a player or from claimed land
+     * and a claim at the target trusts the player or anyone owning or trusted in the target claims.
+     * <p>With {@link draylar.goml.config.GOMLConfig#onlyTrustedClaimsReachIntoClaims} enabled, it instead needs
+     * the player to have permission at the target, or a claim at the target trusting the players of a claim at the origin.
+     */
     public static boolean hasMatchingClaims(World world, BlockPos target, BlockPos origin, @Nullable UUID uuid) {
-        var claims = ClaimUtils.getClaimsAt(world, target);
+        var component = GetOffMyLawn.CLAIM.get(world);
 
-        if (claims.isEmpty()) {
+        if (!component.hasClaimAt(target.getX(), target.getY(), target.getZ())) {
             return true;
         }
-        var originClaims = ClaimUtils.getClaimsAt(world, origin);
 
-        if (originClaims.isEmpty() && uuid == null) {
+        if (GetOffMyLawn.CONFIG.onlyTrustedClaimsReachIntoClaims) {
+            return hasTrustedOrigin(component, target, origin, uuid);
+        }
+
+        if (uuid == null && !component.hasClaimAt(origin.getX(), origin.getY(), origin.getZ())) {
             return false;
         }
 
-        var trusted = new HashSet<UUID>();
-        if (uuid != null) {
-            trusted.add(uuid);
+        // Players of the target claims are cached per position, so this doesn't collect them on every call
+        var players = component.getPlayersTrustedAt(target.getX(), target.getY(), target.getZ());
+
+        return component.anyClaimAt(target.getX(), target.getY(), target.getZ(),
+                claim -> (uuid != null && claim.hasPermission(uuid)) || claim.hasPermission(players));
+    }
+
+    private static boolean hasTrustedOrigin(ClaimComponent component, BlockPos target, BlockPos origin, @Nullable UUID uuid) {
+        if (uuid != null && component.anyClaimAt(target.getX(), target.getY(), target.getZ(), claim -> claim.hasPermission(uuid))) {
+            return true;
         }
 
-        claims.forEach(x -> {
-            trusted.addAll(x.getValue().getOwners());
-            trusted.addAll(x.getValue().getTrusted());
-        });
+        // Things coming from unclaimed land, or claims the target doesn't trust, stay out
+        var originClaims = new ArrayList<Claim>(2);
+        component.forEachClaimAt(origin.getX(), origin.getY(), origin.getZ(), originClaims::add);
 
-        return claims.anyMatch(x -> x.getValue().hasPermission(trusted));
+        if (originClaims.isEmpty()) {
+            return false;
+        }
+
+        return component.anyClaimAt(target.getX(), target.getY(), target.getZ(), claim -> {
+            for (var originClaim : originClaims) {
+                if (claim.trustsPlayersOf(originClaim)) {
+                    return true;
+                }
+            }
 
+            return false;
+        });
     }
 }
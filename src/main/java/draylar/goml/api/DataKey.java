@@ -10,6 +10,11 @@ import java.util.*;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+/**
+ * Key for custom data stored in a {@link Claim}.
+ * Values read with {@link Claim#getData(DataKey)} must not be modified, as changes to them aren't saved.
+ * Use {@link Claim#getMutableData(DataKey)} for values changed in place, or {@link Claim#setData(DataKey, Object)}.
+ */
 public record DataKey<T>(Identifier key, T defaultValue, Function<T, NbtElement> serializer, Function<NbtElement, T> deserializer, @Nullable Supplier<T> defaultSupplier) {
     public DataKey(Identifier key, T defaultValue, Function<T, NbtElement> serializer, Function<NbtElement, T> deserializer) {
         this(key, defaultValue, serializer, deserializer, () -> defaultValue);
@@ -25,8 +30,12 @@ public record DataKey<T>(Identifier key, T defaultValue, Function<T, NbtElement>
         REGISTRY.put(key, this);
     }
 
+    /**
+     * Creates a key holding a collection. Its default value is a shared, unmodifiable view, so claims reading
+     * it can't change it for everyone. Collections meant to be modified come from {@link Claim#getMutableData(DataKey)}.
+     */
     public static <T, C extends Collection<T>> DataKey<C> ofCollection(Identifier key, Supplier<C> collectionCreator, Function<T, NbtElement> serializer, Function<NbtElement, T> deserializer) {
-        return new DataKey<>(key, collectionCreator.get(), (list) -> {
+        return new DataKey<>(key, unmodifiable(collectionCreator.get()), (list) -> {
             var nbt = new NbtList();
 
             for (var i : list) {
@@ -50,6 +59,21 @@ public record DataKey<T>(Identifier key, T defaultValue, Function<T, NbtElement>
         }, collectionCreator);
     }
 
+    @SuppressWarnings("unchecked")
+    private static <T, C extends Collection<T>> C unmodifiable(C collection) {
+        if (collection instanceof List<T> list) {
+            return (C) Collections.unmodifiableList(list);
+        } else if (collection instanceof NavigableSet<T> set) {
+            return (C) Collections.unmodifiableNavigableSet(set);
+        } else if (collection instanceof SortedSet<T> set) {
+            return (C) Collections.unmodifiableSortedSet(set);
+        } else if (collection instanceof Set<T> set) {
+            return (C) Collections.unmodifiableSet(set);
+        }
+
+        return (C) Collections.unmodifiableCollection(collection);
+    }
+
     public static DataKey<String> ofString(Identifier key, String defaultValue) {
         return new DataKey<>(key, defaultValue, (s) -> NbtString.of(s), (nbt) -> nbt instanceof NbtString nbtString ? nbtString.asString() : defaultValue);
     }
@@ -11,7 +11,6 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
 import net.minecraft.world.World;
 import net.minecraft.world.explosion.Explosion;
-import org.apache.commons.lang3.mutable.MutableBoolean;
 import org.jetbrains.annotations.Nullable;
 
 public final class GomlProtectionProvider implements ProtectionProvider {
@@ -23,7 +22,7 @@ public final class GomlProtectionProvider implements ProtectionProvider {
         if (world.getServer() == null) {
             return false;
         }
-        return ClaimUtils.getClaimsAt(world, pos).isNotEmpty();
+        return ClaimUtils.hasClaimAt(world, pos.getX(), pos.getY(), pos.getZ());
     }
 
     @Override
@@ -31,7 +30,9 @@ public final class GomlProtectionProvider implements ProtectionProvider {
         if (world.getServer() == null) {
             return false;
         }
-        return ClaimUtils.getClaimsInBox(world, BlockPos.ofFloored(box.minX, box.minY, box.minZ), BlockPos.ofFloored(box.maxX, box.maxY, box.maxZ)).isNotEmpty();
+        var lower = BlockPos.ofFloored(box.minX, box.minY, box.minZ);
+        var upper = BlockPos.ofFloored(box.maxX, box.maxY, box.maxZ);
+        return GetOffMyLawn.CLAIM.get(world).hasClaimInBox(lower.getX(), lower.getY(), lower.getZ(), upper.getX(), upper.getY(), upper.getZ());
     }
 
     @Override
@@ -43,8 +44,9 @@ public final class GomlProtectionProvider implements ProtectionProvider {
         if (player != null) {
             return ClaimUtils.canModify(world, pos, player);
         } else {
-            var claims = ClaimUtils.getClaimsAt(world, pos);
-            return claims.isEmpty() || claims.anyMatch((c) -> c.getValue().hasPermission(profile.getId()));
+            var component = GetOffMyLawn.CLAIM.get(world);
+            return !component.hasClaimAt(pos.getX(), pos.getY(), pos.getZ())
+                    || component.anyClaimAt(pos.getX(), pos.getY(), pos.getZ(), (c) -> c.hasPermission(profile.getId()));
         }
     }
 
@@ -84,34 +86,21 @@ public final class GomlProtectionProvider implements ProtectionProvider {
         }
 
         if (entity instanceof PlayerEntity attackedPlayer) {
-            var claims = ClaimUtils.getClaimsAt(world, entity.getBlockPos());
+            var pos = entity.getBlockPos();
+            var component = GetOffMyLawn.CLAIM.get(world);
 
-            if (claims.isEmpty()) {
+            if (!component.hasClaimAt(pos.getX(), pos.getY(), pos.getZ())) {
                 return true;
+            } else if (!component.anyClaimAt(pos.getX(), pos.getY(), pos.getZ(), ClaimUtils::isPvPArena)) {
+                return GetOffMyLawn.CONFIG.enablePvPinClaims;
             } else {
-                claims = claims.filter((e) -> e.getValue().hasAugment(GOMLBlocks.PVP_ARENA.getFirst()));
-
-                if (claims.isEmpty()) {
-                    return GetOffMyLawn.CONFIG.enablePvPinClaims;
-                } else {
-                    var obj = new MutableBoolean();
-
-                    claims.forEach((e) -> {
-                        var claim = e.getValue();
-                        if (!obj.getValue()) {
-                            return;
-                        }
-
-                        obj.setValue(switch (claim.getData(GOMLBlocks.PVP_ARENA.getFirst().key)) {
-                            case EVERYONE -> true;
-                            case DISABLED -> player != null && ClaimUtils.isInAdminMode(player);
-                            case TRUSTED -> claim.hasPermission(profile.getId()) && claim.hasPermission(attackedPlayer);
-                            case UNTRUSTED -> !claim.hasPermission(profile.getId()) && !claim.hasPermission(attackedPlayer);
-                        });
-                    });
-
-                    return obj.getValue();
-                }
+                // Damage is allowed once every arena here allows it
+                return !component.anyClaimAt(pos.getX(), pos.getY(), pos.getZ(), (claim) -> ClaimUtils.isPvPArena(claim) && !switch (claim.getData(GOMLBlocks.PVP_ARENA.getFirst().key)) {
+                    case EVERYONE -> true;
+                    case DISABLED -> player != null && ClaimUtils.isInAdminMode(player);
+                    case TRUSTED -> claim.hasPermission(profile.getId()) && claim.hasPermission(attackedPlayer);
+                    case UNTRUSTED -> !claim.hasPermission(profile.getId()) && !claim.hasPermission(attackedPlayer);
+                });
             }
         }
 
@@ -2,6 +2,7 @@ package draylar.goml.api.group;
 
 import com.mojang.authlib.GameProfile;
 import draylar.goml.api.Claim;
+import draylar.goml.other.GomlObjects;
 import net.minecraft.item.ItemStack;
 import net.minecraft.text.Text;
 
@@ -9,6 +10,17 @@ import java.util.List;
 import java.util.UUID;
 
 public interface PlayerGroup {
+    /**
+     * Should be called by groups that {@link #announcesMembershipChanges()} whenever a player joins or leaves them.
+     */
+    static void markMembershipChanged() {
+        GomlObjects.groupMembershipEpoch++;
+    }
+
+    static long getMembershipEpoch() {
+        return GomlObjects.groupMembershipEpoch;
+    }
+
     Text selfDisplayName();
     Text fullDisplayName();
     Key getKey();
@@ -18,6 +30,14 @@ public interface PlayerGroup {
     List<Member> getMembers();
     boolean canSave();
 
+    /**
+     * Groups returning true promise to call {@link #markMembershipChanged()} when their members change,
+     * which allows claims to cache results of {@link #isPartOf(UUID)}.
+     */
+    default boolean announcesMembershipChanges() {
+        return false;
+    }
+
     boolean addClaim(Claim claim);
     boolean removeClaim(Claim claim);
 
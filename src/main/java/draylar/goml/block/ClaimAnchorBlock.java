@@ -87,9 +87,9 @@ public class ClaimAnchorBlock extends Block implements BlockEntityProvider, Poly
             return;
         }
         if (newState.getBlock() != state.getBlock()) {
-            ClaimUtils.getClaimsAt(world, pos).forEach(claimedArea -> {
-                if (ClaimUtils.canDestroyClaimBlock(claimedArea, null, pos)) {
-                    claimedArea.getValue().destroy();
+            ClaimUtils.getClaimListAt(world, pos).forEach(claim -> {
+                if (ClaimUtils.canDestroyClaimBlock(claim, null, pos)) {
+                    claim.destroy();
                 }
             });
         }
@@ -104,9 +104,9 @@ public class ClaimAnchorBlock extends Block implements BlockEntityProvider, Poly
             return state;
         }
 
-        ClaimUtils.getClaimsAt(world, pos).forEach(claimedArea -> {
-            if (ClaimUtils.canDestroyClaimBlock(claimedArea, player, pos)) {
-                claimedArea.getValue().destroy();
+        ClaimUtils.getClaimListAt(world, pos).forEach(claim -> {
+            if (ClaimUtils.canDestroyClaimBlock(claim, player, pos)) {
+                claim.destroy();
             }
         });
 
@@ -132,7 +132,7 @@ public class ClaimAnchorBlock extends Block implements BlockEntityProvider, Poly
 
     @Override
     public float calcBlockBreakingDelta(BlockState state, PlayerEntity player, BlockView world, BlockPos pos) {
-        if (ClaimUtils.isInAdminMode(player) || (world instanceof ServerWorld serverWorld && ClaimUtils.getClaimsAt(serverWorld, pos).anyMatch(x -> x.getValue().isOwner(player)))) {
+        if (ClaimUtils.isInAdminMode(player) || (world instanceof ServerWorld serverWorld && ClaimUtils.anyClaimAt(serverWorld, pos.getX(), pos.getY(), pos.getZ(), claim -> claim.isOwner(player)))) {
             return super.calcBlockBreakingDelta(state, player, world, pos);
         } else {
             return 0;
@@ -148,7 +148,8 @@ public class ClaimAnchorBlock extends Block implements BlockEntityProvider, Poly
     @Nullable
     @Override
     public <T extends BlockEntity> BlockEntityTicker<T> getTicker(World world, BlockState state, BlockEntityType<T> type) {
-        return ClaimAnchorBlockEntity::tick;
+        // Anchors are set up once on load by ClaimBlockEntityLoader, there's nothing to tick
+        return null;
     }
     @Override
     public Block getPolymerBlock(BlockState state) {
@@ -179,7 +179,7 @@ public class ClaimAugmentBlock extends Block implements Augment, BlockEntityProv
 
     @Override
     public float calcBlockBreakingDelta(BlockState state, PlayerEntity player, BlockView world, BlockPos pos) {
-        if (ClaimUtils.isInAdminMode(player) || (world instanceof ServerWorld serverWorld && ClaimUtils.getClaimsAt(serverWorld, pos).anyMatch(x -> x.getValue().isOwner(player)))) {
+        if (ClaimUtils.isInAdminMode(player) || (world instanceof ServerWorld serverWorld && ClaimUtils.anyClaimAt(serverWorld, pos.getX(), pos.getY(), pos.getZ(), claim -> claim.isOwner(player)))) {
             return super.calcBlockBreakingDelta(state, player, world, pos);
         } else {
             return 0;
@@ -200,7 +200,8 @@ public class ClaimAugmentBlock extends Block implements Augment, BlockEntityProv
     @Nullable
     @Override
     public <T extends BlockEntity> BlockEntityTicker<T> getTicker(World world, BlockState state, BlockEntityType<T> type) {
-        return ClaimAugmentBlockEntity::tick;
+        // Augments are set up once on load by ClaimBlockEntityLoader, there's nothing to tick
+        return null;
     }
 
     @Override
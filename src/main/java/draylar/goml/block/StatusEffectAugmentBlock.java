@@ -0,0 +1,81 @@
+package draylar.goml.block;
+
+import draylar.goml.api.Claim;
+import net.minecraft.block.AbstractBlock;
+import net.minecraft.entity.effect.StatusEffect;
+import net.minecraft.entity.effect.StatusEffectInstance;
+import net.minecraft.entity.player.PlayerEntity;
+
+/**
+ * Augment granting status effects to players inside the claim.
+ * <p>Effects are applied on enter and only refreshed shortly before they run out, instead of being reapplied
+ * every tick, and are taken away again on exit. The duration is kept short, so effects also wear off quickly
+ * when no exit callback runs, like when the augment gets disabled or the player logs out inside the claim.
+ * Effects are refreshed once less than a check interval would be left, so they never lapse in between.
+ */
+public class StatusEffectAugmentBlock extends SelectiveClaimAugmentBlock {
+    public static final int EFFECT_DURATION = 40;
+    public static final int CHECK_INTERVAL = 10;
+    public static final int REFRESH_BELOW = CHECK_INTERVAL * 2;
+
+    private final StatusEffect[] effects;
+
+    public StatusEffectAugmentBlock(String key, AbstractBlock.Settings settings, String texture, StatusEffect... effects) {
+        super(key, settings, texture);
+        this.effects = effects;
+    }
+
+    @Override
+    public boolean ticks() {
+        return true;
+    }
+
+    @Override
+    public int tickInterval() {
+        return CHECK_INTERVAL;
+    }
+
+    @Override
+    public void playerTick(Claim claim, PlayerEntity player) {
+        if (!this.canApply(claim, player)) {
+            // Mode or trust could have changed since the player entered
+            this.removeEffect(player);
+            return;
+        }
+
+        for (var effect : this.effects) {
+            var instance = player.getStatusEffect(effect);
+
+            if (instance == null || (this.isOwnEffect(instance) && instance.getDuration() <= REFRESH_BELOW)) {
+                player.addStatusEffect(this.createEffect(effect));
+            }
+        }
+    }
+
+    @Override
+    public void applyEffect(PlayerEntity player) {
+        for (var effect : this.effects) {
+            player.addStatusEffect(this.createEffect(effect));
+        }
+    }
+
+    @Override
+    public void removeEffect(PlayerEntity player) {
+        for (var effect : this.effects) {
+            var instance = player.getStatusEffect(effect);
+
+            // Leave effects from other sources alone, like potions the player drank
+            if (instance != null && this.isOwnEffect(instance)) {
+                player.removeStatusEffect(effect);
+            }
+        }
+    }
+
+    protected StatusEffectInstance createEffect(StatusEffect effect) {
+        return new StatusEffectInstance(effect, EFFECT_DURATION, 0, true, false);
+    }
+
+    protected boolean isOwnEffect(StatusEffectInstance instance) {
+        return instance.getAmplifier() == 0 && instance.isAmbient() && !instance.shouldShowParticles() && instance.getDuration() <= EFFECT_DURATION;
+    }
+}
@@ -15,7 +15,7 @@ public class AngelicAuraAugmentBlock extends SelectiveClaimAugmentBlock {
 
     @Override
     public void playerTick(Claim claim, PlayerEntity player) {
-        if (player.age % 80 == 0 && canApply(claim, player)) {
+        if (canApply(claim, player)) {
             player.addStatusEffect(new StatusEffectInstance(StatusEffects.REGENERATION, 80, 0, true, false));
         }
     }
@@ -24,4 +24,9 @@ public class AngelicAuraAugmentBlock extends SelectiveClaimAugmentBlock {
     public boolean ticks() {
         return true;
     }
+
+    @Override
+    public int tickInterval() {
+        return 80;
+    }
 }
@@ -12,21 +12,14 @@ import draylar.goml.ui.GenericPlayerSelectionGui;
 import draylar.goml.ui.PagedGui;
 import eu.pb4.sgui.api.elements.GuiElementBuilder;
 import eu.pb4.sgui.api.gui.SimpleGui;
-import net.minecraft.block.Blocks;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.item.Items;
-import net.minecraft.network.packet.s2c.play.EntityVelocityUpdateS2CPacket;
-import net.minecraft.particle.BlockStateParticleEffect;
-import net.minecraft.particle.ParticleTypes;
 import net.minecraft.screen.ScreenHandlerType;
 import net.minecraft.screen.ScreenTexts;
 import net.minecraft.server.network.ServerPlayerEntity;
-import net.minecraft.server.world.ServerWorld;
 import net.minecraft.text.MutableText;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
-import net.minecraft.util.math.Vec3d;
-import net.minecraft.world.Heightmap;
 import org.apache.commons.lang3.mutable.MutableObject;
 import org.jetbrains.annotations.Nullable;
 
@@ -39,61 +32,24 @@ public class ForceFieldAugmentBlock extends ClaimAugmentBlock {
     public static final DataKey<Set<UUID>> UUID_KEY = DataKey.ofUuidSet(GetOffMyLawn.id("force_field/uuids"));
     public static final DataKey<Boolean> WHITELIST_KEY = DataKey.ofBoolean(GetOffMyLawn.id("force_field/whitelist"), true);
 
+    private final ForceFieldPushback pushback = new ForceFieldPushback();
+
     public ForceFieldAugmentBlock(Settings settings, String texture) {
         super(settings, texture);
     }
 
     @Override
     public void onPlayerEnter(Claim claim, PlayerEntity player) {
-        if (shouldBlock(claim, player) && claim.getClaimBox().minecraftBox().contains(player.getPos())) {
-            var pair = ClaimUtils.getClosestXZBorder(claim, player.getPos(), 1);
-            var pairPart = ClaimUtils.getClosestXZBorder(claim, player.getPos());
-
-            var pos = pair.getLeft();
-            var dir = pair.getRight();
-            var pos2 = pairPart.getLeft();
-
-            var dir2 = pairPart.getRight();
-
-            for (int x = -1; x <= 1; x++) {
-                for (int y = -1; y <= 1; y++) {
-                    ((ServerWorld) player.getWorld()).spawnParticles(
-                            (ServerPlayerEntity) player, new BlockStateParticleEffect(ParticleTypes.BLOCK_MARKER, Blocks.BARRIER.getDefaultState()), true,
-                            pos2.x + dir2.getOffsetZ() * x, player.getEyeY() + y, pos2.z + dir2.getOffsetX() * x,
-                            1,
-                            0.0, 0.0, 0.0,
-                            0.0
-                    );
-                }
-            }
-
-            double y;
-            if (player.getWorld().isSpaceEmpty(player, player.getDimensions(player.getPose()).getBoxAt(pos.x, player.getY(), pos.z))) {
-                y = player.getY();
-            } else {
-                y = player.getWorld().getTopY(Heightmap.Type.MOTION_BLOCKING, (int) pos.x, (int) pos.z);
-            }
-
-            player.teleport(pos.x, y, pos.z);
-
-            player.setVelocity(Vec3d.of(dir.getVector()).multiply(0.2));
-
-            if (player.hasVehicle()) {
-                player.getVehicle().teleport(pos.x, y, pos.z);
-                player.getVehicle().setVelocity(Vec3d.of(dir.getVector()).multiply(0.2));
-            }
-
-
-            if (player instanceof ServerPlayerEntity serverPlayer) {
-                serverPlayer.networkHandler.sendPacket(new EntityVelocityUpdateS2CPacket(serverPlayer));
-
-                if (player.hasVehicle()) {
-                    serverPlayer.networkHandler.sendPacket(new EntityVelocityUpdateS2CPacket(player.getVehicle()));
-                }
-            }
+        if (shouldBlock(claim, player)) {
+            this.pushback.tick(claim, player);
         }
     }
 
+    @Override
+    public void onPlayerExit(Claim claim, PlayerEntity player) {
+        this.pushback.remove(claim, player);
+    }
+
     @Override
     public boolean hasSettings() {
         return true;
@@ -222,7 +178,7 @@ public class ForceFieldAugmentBlock extends ClaimAugmentBlock {
                                     this.player,
                                     Text.translatable("text.goml.gui.force_field.add_player.title"),
                                     (p) -> !this.claim.hasDirectPermission(p.getId()) && !this.claim.getData(UUID_KEY).contains(p.getId()),
-                                    (p) -> this.claim.getData(UUID_KEY).add(p.getId()),
+                                    (p) -> this.claim.getMutableData(UUID_KEY).add(p.getId()),
                                     this::refreshOpen).updateAndOpen();
                         }));
                 default -> super.getNavElement(id);
@@ -234,7 +190,7 @@ public class ForceFieldAugmentBlock extends ClaimAugmentBlock {
             builder.addLoreLine(Text.translatable("text.goml.gui.click_to_remove"));
             builder.setCallback((x, y, z) -> {
                 playClickSound(player);
-                this.claim.getData(UUID_KEY).remove(uuid);
+                this.claim.getMutableData(UUID_KEY).remove(uuid);
                 this.updateDisplay();
             });
 
@@ -0,0 +1,131 @@
+package draylar.goml.block.augment;
+
+import draylar.goml.api.Claim;
+import draylar.goml.api.ClaimBox;
+import draylar.goml.api.ClaimUtils;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.minecraft.block.Blocks;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.network.listener.ClientPlayPacketListener;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.s2c.play.BundleS2CPacket;
+import net.minecraft.network.packet.s2c.play.EntityVelocityUpdateS2CPacket;
+import net.minecraft.network.packet.s2c.play.ParticleS2CPacket;
+import net.minecraft.particle.BlockStateParticleEffect;
+import net.minecraft.particle.ParticleTypes;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.Heightmap;
+
+import java.util.ArrayList;
+import java.util.UUID;
+
+/**
+ * Pushes blocked players back out of force field claims.
+ * <p>Players are only moved again once they got deeper into the claim than at the last push, or after a while
+ * in case the client ignored it. Barrier particles are sent as one bundle at a limited rate.
+ * <p>State is kept per claim and player, as the block is shared by every force field claim.
+ */
+public class ForceFieldPushback {
+    private static final BlockStateParticleEffect BARRIER = new BlockStateParticleEffect(ParticleTypes.BLOCK_MARKER, Blocks.BARRIER.getDefaultState());
+    private static final int RESEND_TICKS = 20;
+    private static final int PARTICLE_TICKS = 10;
+    private static final double MIN_DEPTH_CHANGE = 0.05;
+
+    private final Object2ObjectOpenHashMap<Key, State> states = new Object2ObjectOpenHashMap<>();
+
+    public void tick(Claim claim, PlayerEntity player) {
+        var box = claim.getClaimBox();
+        var key = new Key(claim, player.getUuid());
+
+        if (!box.minecraftBox().contains(player.getPos())) {
+            this.states.remove(key);
+            return;
+        }
+
+        var state = this.states.get(key);
+
+        if (state == null || state.box != box) {
+            state = new State(box);
+            this.states.put(key, state);
+        }
+
+        var dx = player.getX() - state.center.x;
+        var dz = player.getZ() - state.center.z;
+        var depth = state.radius - Math.max(Math.abs(dx), Math.abs(dz));
+        var time = player.getWorld().getTime();
+
+        if (state.lastPush != Long.MIN_VALUE && depth <= state.depth + MIN_DEPTH_CHANGE && time - state.lastPush < RESEND_TICKS) {
+            return;
+        }
+
+        state.depth = depth;
+        state.lastPush = time;
+
+        var border = ClaimUtils.getBorderPoint(state.center, state.radius, dx, dz);
+        var outside = ClaimUtils.getBorderPoint(state.center, state.radius + 1, dx, dz);
+        var dir = border.getRight();
+        var pos = outside.getLeft();
+
+        if (player instanceof ServerPlayerEntity serverPlayer && time - state.lastParticles >= PARTICLE_TICKS) {
+            state.lastParticles = time;
+            var wall = border.getLeft();
+            var packets = new ArrayList<Packet<ClientPlayPacketListener>>(9);
+
+            for (int x = -1; x <= 1; x++) {
+                for (int y = -1; y <= 1; y++) {
+                    packets.add(new ParticleS2CPacket(BARRIER, true,
+                            wall.x + dir.getOffsetZ() * x, player.getEyeY() + y, wall.z + dir.getOffsetX() * x,
+                            0, 0, 0, 0, 1));
+                }
+            }
+
+            serverPlayer.networkHandler.sendPacket(new BundleS2CPacket(packets));
+        }
+
+        double y;
+        if (player.getWorld().isSpaceEmpty(player, player.getDimensions(player.getPose()).getBoxAt(pos.x, player.getY(), pos.z))) {
+            y = player.getY();
+        } else {
+            y = player.getWorld().getTopY(Heightmap.Type.MOTION_BLOCKING, (int) pos.x, (int) pos.z);
+        }
+
+        player.teleport(pos.x, y, pos.z);
+
+        player.setVelocity(Vec3d.of(dir.getVector()).multiply(0.2));
+
+        if (player.hasVehicle()) {
+            player.getVehicle().teleport(pos.x, y, pos.z);
+            player.getVehicle().setVelocity(Vec3d.of(dir.getVector()).multiply(0.2));
+        }
+
+        if (player instanceof ServerPlayerEntity serverPlayer) {
+            serverPlayer.networkHandler.sendPacket(new EntityVelocityUpdateS2CPacket(serverPlayer));
+
+            if (player.hasVehicle()) {
+                serverPlayer.networkHandler.sendPacket(new EntityVelocityUpdateS2CPacket(player.getVehicle()));
+            }
+        }
+    }
+
+    public void remove(Claim claim, PlayerEntity player) {
+        this.states.remove(new Key(claim, player.getUuid()));
+    }
+
+    private record Key(Claim claim, UUID player) {}
+
+    private static class State {
+        private final ClaimBox box;
+        private final Vec3d center;
+        private final double radius;
+        private double depth;
+        private long lastPush = Long.MIN_VALUE;
+        private long lastParticles = Long.MIN_VALUE / 2;
+
+        private State(ClaimBox box) {
+            this.box = box;
+            this.center = box.noShift() ? Vec3d.of(box.origin()) : Vec3d.ofCenter(box.getOrigin());
+            this.radius = box.noShift() ? box.radius() - 0.5 : box.radius();
+        }
+    }
+}
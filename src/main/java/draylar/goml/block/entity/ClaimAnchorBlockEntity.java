@@ -17,14 +17,13 @@ import net.minecraft.nbt.NbtLong;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
-import net.minecraft.world.World;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 public class ClaimAnchorBlockEntity extends BlockEntity implements PolymerObject {
 
@@ -39,46 +38,46 @@ public class ClaimAnchorBlockEntity extends BlockEntity implements PolymerObject
         super(GOMLEntities.CLAIM_ANCHOR, pos, state);
     }
 
-    public static <T extends BlockEntity> void tick(World eWorld, BlockPos pos, BlockState state, T blockEntity) {
-        if (eWorld instanceof ServerWorld world && blockEntity instanceof ClaimAnchorBlockEntity anchor) {
-
-            // Claim is null, world probably just loaded, re-grab claim
-            if (anchor.claim == null) {
-                var collect = ClaimUtils.getClaimsAt(anchor.world, anchor.pos).filter(x -> x.getValue().getOrigin().equals(pos)).collect(Collectors.toList());
-
-                if (collect.isEmpty()) {
-                    GetOffMyLawn.LOGGER.warn(String.format("A Claim Anchor at %s tried to initialize its claim, but one could not be found! Was the claim removed without the anchor?", anchor.pos));
-                    world.breakBlock(pos, true);
-                    for (var lPos : anchor.loadPositions) {
-                        world.breakBlock(lPos, true);
-                    }
-                    return;
-                } else {
-                    var entry = collect.get(0);
-                    anchor.claim = entry.getValue();
-                    anchor.box = entry.getKey();
+    /**
+     * Finds the claim of this anchor and attaches augments saved with it. Called once after the anchor is loaded.
+     */
+    @ApiStatus.Internal
+    public void internal_onLoad(ServerWorld world) {
+        // Claim is null, world probably just loaded, re-grab claim
+        if (this.claim == null) {
+            var claim = ClaimUtils.firstClaimWithOrigin(world, this.pos);
+
+            if (claim == null) {
+                GetOffMyLawn.LOGGER.warn(String.format("A Claim Anchor at %s tried to initialize its claim, but one could not be found! Was the claim removed without the anchor?", this.pos));
+                world.breakBlock(this.pos, true);
+                for (var lPos : this.loadPositions) {
+                    world.breakBlock(lPos, true);
                 }
-            }
-
-            if (anchor.claim.isDestroyed()) {
-                world.breakBlock(pos, true);
                 return;
+            } else {
+                this.claim = claim;
+                this.box = claim.getClaimBox();
             }
+        }
 
-            // no augments, some queued from fromTag
-            if (!anchor.loadPositions.isEmpty()) {
-                for (BlockPos foundPos : anchor.loadPositions) {
-                    BlockEntity foundEntity = anchor.world.getBlockEntity(foundPos);
+        if (this.claim.isDestroyed()) {
+            world.breakBlock(this.pos, true);
+            return;
+        }
 
-                    if (foundEntity instanceof ClaimAugmentBlockEntity be) {
-                        anchor.claim.addAugment(foundPos, be.getAugment());
-                    } else {
-                        GetOffMyLawn.LOGGER.warn(String.format("A Claim Anchor at %s tried to load a child at %s, but none were found!", anchor.pos.toString(), foundPos.toString()));
-                    }
-                }
+        // no augments, some queued from fromTag
+        if (!this.loadPositions.isEmpty()) {
+            for (BlockPos foundPos : this.loadPositions) {
+                BlockEntity foundEntity = world.getBlockEntity(foundPos);
 
-                anchor.loadPositions.clear();
+                if (foundEntity instanceof ClaimAugmentBlockEntity be) {
+                    this.claim.addAugment(foundPos, be.getAugment());
+                } else {
+                    GetOffMyLawn.LOGGER.warn(String.format("A Claim Anchor at %s tried to load a child at %s, but none were found!", this.pos.toString(), foundPos.toString()));
+                }
             }
+
+            this.loadPositions.clear();
         }
     }
 
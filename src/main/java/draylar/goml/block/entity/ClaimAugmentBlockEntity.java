@@ -1,11 +1,8 @@
 package draylar.goml.block.entity;
 
-import com.jamieswhiteshirt.rtree3i.Entry;
-import com.jamieswhiteshirt.rtree3i.Selection;
 import draylar.goml.GetOffMyLawn;
 import draylar.goml.api.Augment;
 import draylar.goml.api.Claim;
-import draylar.goml.api.ClaimBox;
 import draylar.goml.api.ClaimUtils;
 import draylar.goml.registry.GOMLEntities;
 import eu.pb4.polymer.core.api.utils.PolymerObject;
@@ -14,17 +11,17 @@ import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.World;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.stream.Collectors;
-
 public class ClaimAugmentBlockEntity extends BlockEntity implements PolymerObject {
 
     private static final String PARENT_POSITION_KEY = "ParentPosition";
     private static final String CLAIM_POSITION_KEY = "ClaimPosition";
+    private static final String CLAIM_ID_KEY = "ClaimId";
     private BlockPos parentPosition;
     private BlockPos claimPosition;
+    private long claimId = -1;
     private Augment augment;
     @Nullable
     private Claim claim;
@@ -33,38 +30,47 @@ public class ClaimAugmentBlockEntity extends BlockEntity implements PolymerObjec
         super(GOMLEntities.CLAIM_AUGMENT, pos, state);
     }
 
-    public static <T extends BlockEntity> void tick(World world, BlockPos pos, BlockState state, T baseBlockEntity) {
-        if (world instanceof ServerWorld && baseBlockEntity instanceof ClaimAugmentBlockEntity entity) {
-            // Parent is null and parent position is not null, assume we are just loading the augment from tags.
-            if (entity.claim == null) {
-                Selection<Entry<ClaimBox, Claim>> claims = null;
-
-                if (entity.claimPosition != null) {
-                    claims = ClaimUtils.getClaimsWithOrigin(world, entity.claimPosition);
-                } else if (entity.parentPosition != null) {
-                    claims = ClaimUtils.getClaimsAt(world, entity.parentPosition);
+    /**
+     * Finds the claim of this augment. Called once after the augment is loaded.
+     */
+    @ApiStatus.Internal
+    public void internal_onLoad(ServerWorld world) {
+        // Parent is null and parent position is not null, assume we are just loading the augment from tags.
+        if (this.claim == null) {
+            Claim claim = null;
+            var hasParent = this.claimId != -1 || this.claimPosition != null || this.parentPosition != null;
+
+            if (this.claimId != -1) {
+                claim = GetOffMyLawn.CLAIM.get(world).getClaimById(this.claimId);
+
+                // Ids of claims destroyed before the last save could have been handed out again by older versions
+                if (claim != null && this.claimPosition != null && !claim.getOrigin().equals(this.claimPosition)) {
+                    claim = null;
                 }
+            }
+
+            if (claim == null && this.claimPosition != null) {
+                claim = ClaimUtils.firstClaimWithOrigin(world, this.claimPosition);
+            } else if (claim == null && this.parentPosition != null) {
+                claim = ClaimUtils.firstClaimAt(world, this.parentPosition.getX(), this.parentPosition.getY(), this.parentPosition.getZ());
+            }
 
-                if (claims != null) {
-                    if (claims.isNotEmpty()) {
-                        entity.claim = claims.collect(Collectors.toList()).get(0).getValue();
-                        entity.claimPosition = entity.claim.getOrigin();
-                        entity.markDirty();
-                    } else {
-                        GetOffMyLawn.LOGGER.warn(String.format("An augment at %s tried to locate a parent at %s, but it could not be found!", entity.pos.toString(), entity.claimPosition.toString()));
-                        world.breakBlock(pos, true);
-                        return;
-                    }
+            if (hasParent) {
+                if (claim != null) {
+                    this.claim = claim;
+                    this.claimPosition = claim.getOrigin();
+                    this.claimId = claim.getId();
+                    this.markDirty();
                 } else {
-                    GetOffMyLawn.LOGGER.warn(String.format("An augment at %s has an invalid parent and parent position! Removing now.", entity.pos.toString()));
-                    world.breakBlock(pos, true);
-                    return;
+                    GetOffMyLawn.LOGGER.warn(String.format("An augment at %s tried to locate a parent at %s, but it could not be found!", this.pos.toString(), this.claimPosition));
+                    world.breakBlock(this.pos, true);
                 }
             } else {
-                if (entity.claim.isDestroyed()) {
-                    world.breakBlock(pos, true);
-                }
+                GetOffMyLawn.LOGGER.warn(String.format("An augment at %s has an invalid parent and parent position! Removing now.", this.pos.toString()));
+                world.breakBlock(this.pos, true);
             }
+        } else if (this.claim.isDestroyed()) {
+            world.breakBlock(this.pos, true);
         }
     }
 
@@ -73,6 +79,9 @@ public class ClaimAugmentBlockEntity extends BlockEntity implements PolymerObjec
         if (this.claimPosition != null) {
             tag.putLong(CLAIM_POSITION_KEY, this.claimPosition.asLong());
         }
+        if (this.claimId != -1) {
+            tag.putLong(CLAIM_ID_KEY, this.claimId);
+        }
         if (this.parentPosition != null) {
             tag.putLong(PARENT_POSITION_KEY, this.parentPosition.asLong());
         }
@@ -85,6 +94,9 @@ public class ClaimAugmentBlockEntity extends BlockEntity implements PolymerObjec
         if (tag.contains(CLAIM_POSITION_KEY)) {
             this.claimPosition = BlockPos.fromLong(tag.getLong(CLAIM_POSITION_KEY));
         }
+        if (tag.contains(CLAIM_ID_KEY)) {
+            this.claimId = tag.getLong(CLAIM_ID_KEY);
+        }
 
         this.parentPosition = BlockPos.fromLong(tag.getLong(PARENT_POSITION_KEY));
 
@@ -106,6 +118,7 @@ public class ClaimAugmentBlockEntity extends BlockEntity implements PolymerObjec
     public void setParent(BlockPos pos, Claim claim) {
         this.parentPosition = pos;
         this.claimPosition = claim.getOrigin();
+        this.claimId = claim.getId();
         this.claim = claim;
         claim.addAugment(this.pos, this.getAugment());
     }
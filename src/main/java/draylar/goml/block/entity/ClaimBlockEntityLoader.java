@@ -0,0 +1,84 @@
+package draylar.goml.block.entity;
+
+import draylar.goml.api.Claim;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.ArrayList;
+
+/**
+ * Sets up claim anchors and augments once after they're loaded, so they don't need block entity tickers.
+ * <p>Setup waits for the end of the world tick, as neighbouring block entities might not be loaded yet when
+ * the load event fires. Destroyed claims remove their augments through {@link #onClaimDestroyed(Claim)}.
+ */
+@ApiStatus.Internal
+public class ClaimBlockEntityLoader {
+    private static final Reference2ObjectOpenHashMap<ServerWorld, ArrayList<BlockEntity>> PENDING = new Reference2ObjectOpenHashMap<>();
+    private static final Reference2ObjectOpenHashMap<ServerWorld, ArrayList<Removal>> PENDING_REMOVALS = new Reference2ObjectOpenHashMap<>();
+
+    public static void onLoad(BlockEntity blockEntity, ServerWorld world) {
+        if (blockEntity instanceof ClaimAnchorBlockEntity || blockEntity instanceof ClaimAugmentBlockEntity) {
+            PENDING.computeIfAbsent(world, w -> new ArrayList<>()).add(blockEntity);
+        }
+    }
+
+    public static void tick(ServerWorld world) {
+        var removals = PENDING_REMOVALS.remove(world);
+
+        if (removals != null) {
+            for (var removal : removals) {
+                if (world.isChunkLoaded(removal.pos())
+                        && world.getBlockEntity(removal.pos()) instanceof ClaimAugmentBlockEntity augment
+                        && augment.getClaim() == removal.claim()) {
+                    world.breakBlock(removal.pos(), true);
+                }
+            }
+        }
+
+        var pending = PENDING.remove(world);
+
+        if (pending == null) {
+            return;
+        }
+
+        // Anchors first, so augments they load are attached before augments look for their claim
+        for (var blockEntity : pending) {
+            if (!blockEntity.isRemoved() && blockEntity instanceof ClaimAnchorBlockEntity anchor) {
+                anchor.internal_onLoad(world);
+            }
+        }
+
+        for (var blockEntity : pending) {
+            if (!blockEntity.isRemoved() && blockEntity instanceof ClaimAugmentBlockEntity augment) {
+                augment.internal_onLoad(world);
+            }
+        }
+    }
+
+    public static void onWorldUnload(ServerWorld world) {
+        PENDING.remove(world);
+        PENDING_REMOVALS.remove(world);
+    }
+
+    public static void onClaimDestroyed(Claim claim) {
+        var server = claim.getServer();
+        var world = server != null ? claim.getWorldInstance(server) : null;
+
+        if (world == null) {
+            return;
+        }
+
+        // Claims are mostly destroyed while their anchor is being broken or replaced, which takes care of the anchor
+        // itself. Augments are broken at the end of the tick, so nothing gets broken in the middle of that.
+        // Ones in unloaded chunks notice the missing claim once they're loaded again
+        var removals = PENDING_REMOVALS.computeIfAbsent(world, w -> new ArrayList<>());
+        for (var pos : claim.getAugments().keySet()) {
+            removals.add(new Removal(pos, claim));
+        }
+    }
+
+    private record Removal(BlockPos pos, Claim claim) {}
+}
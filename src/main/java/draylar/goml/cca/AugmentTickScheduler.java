@@ -0,0 +1,98 @@
+package draylar.goml.cca;
+
+import draylar.goml.api.Claim;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.function.Consumer;
+
+/**
+ * Timing wheel of claims with ticking augments, keyed by the world time their next augment is due.
+ * <p>Claims nobody is in only need ticking when one of their augments is due, so this keeps them
+ * from being visited every tick. Due times further away than the wheel size simply stay in their slot
+ * until the wheel comes around to the right time.
+ */
+@ApiStatus.Internal
+public class AugmentTickScheduler {
+    private static final int WHEEL_SIZE = 128;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private final Reference2LongOpenHashMap<Claim> dueTimes = new Reference2LongOpenHashMap<>();
+    @SuppressWarnings("unchecked")
+    private final ReferenceOpenHashSet<Claim>[] wheel = new ReferenceOpenHashSet[WHEEL_SIZE];
+
+    public AugmentTickScheduler() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            this.wheel[i] = new ReferenceOpenHashSet<>();
+        }
+    }
+
+    /**
+     * Schedules the claim for the first time at or after the given one that any of its augments is due.
+     * Replaces any earlier schedule of the claim.
+     */
+    public void schedule(Claim claim, long time) {
+        var due = claim.getNextAugmentTick(time);
+
+        if (due == Long.MAX_VALUE) {
+            this.remove(claim);
+            return;
+        }
+
+        this.dueTimes.put(claim, due);
+        this.wheel[(int) (due & WHEEL_MASK)].add(claim);
+    }
+
+    /**
+     * Stops ticking the claim. Its wheel entry is dropped lazily once its slot comes up.
+     */
+    public void remove(Claim claim) {
+        this.dueTimes.removeLong(claim);
+    }
+
+    public boolean isScheduled(Claim claim) {
+        return this.dueTimes.containsKey(claim);
+    }
+
+    /**
+     * Passes every claim due at the given time to the consumer and schedules it again for later ticks.
+     */
+    public void tick(long time, Consumer<Claim> consumer) {
+        var slot = this.wheel[(int) (time & WHEEL_MASK)];
+
+        if (slot.isEmpty()) {
+            return;
+        }
+
+        var claims = slot.toArray(new Claim[0]);
+        slot.clear();
+
+        for (var claim : claims) {
+            if (!this.dueTimes.containsKey(claim)) {
+                continue;
+            }
+
+            var due = this.dueTimes.getLong(claim);
+
+            if (due <= time) {
+                consumer.accept(claim);
+
+                // The consumer may have removed or rescheduled it already
+                if (this.dueTimes.containsKey(claim) && this.dueTimes.getLong(claim) == due) {
+                    this.schedule(claim, time + 1);
+                }
+            } else if (due > time && (due & WHEEL_MASK) == (time & WHEEL_MASK)) {
+                slot.add(claim);
+            }
+        }
+    }
+
+    public void clear() {
+        this.dueTimes.clear();
+
+        for (var slot : this.wheel) {
+            slot.clear();
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package draylar.goml.cca;
+
+import com.jamieswhiteshirt.rtree3i.Box;
+import draylar.goml.api.Claim;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Maps packed chunk positions to the claims touching that chunk, so point lookups don't need to walk the whole claim tree.
+ * <p>Buckets are replaced instead of modified, which keeps arrays handed out by {@link #getBucket(int, int)} stable
+ * even if a claim is removed while they are being iterated.
+ * <p>Each bucket also stores a bitmask of the chunk sections its claims reach, so most lookups outside claims end
+ * after a single bit test. Section Y coordinates wrap around every 64 sections, which can only cause extra checks.
+ */
+@ApiStatus.Internal
+public class ClaimChunkIndex {
+    /**
+     * Claims covering more chunks than this are stored once in a separate list instead of in every bucket.
+     */
+    private static final int MAX_BUCKETED_CHUNKS = 4096;
+    private static final Claim[] EMPTY = new Claim[0];
+
+    private final Long2ObjectOpenHashMap<Bucket> buckets = new Long2ObjectOpenHashMap<>();
+    private Claim[] largeClaims = EMPTY;
+    private long largeClaimsMask = 0;
+
+    public void add(Claim claim) {
+        var box = claim.getClaimBox().toBox();
+
+        if (isLarge(box)) {
+            this.largeClaims = append(this.largeClaims, claim);
+            this.largeClaimsMask |= sectionMask(box);
+            return;
+        }
+
+        var mask = sectionMask(box);
+        var maxX = ChunkSectionPos.getSectionCoord(box.x2());
+        var maxZ = ChunkSectionPos.getSectionCoord(box.z2());
+
+        for (var x = ChunkSectionPos.getSectionCoord(box.x1()); x <= maxX; x++) {
+            for (var z = ChunkSectionPos.getSectionCoord(box.z1()); z <= maxZ; z++) {
+                var key = ChunkPos.toLong(x, z);
+                var bucket = this.buckets.get(key);
+
+                if (bucket == null) {
+                    this.buckets.put(key, new Bucket(new Claim[] { claim }, mask));
+                } else {
+                    this.buckets.put(key, new Bucket(append(bucket.claims(), claim), bucket.sectionMask() | mask));
+                }
+            }
+        }
+    }
+
+    public void remove(Claim claim) {
+        var box = claim.getClaimBox().toBox();
+
+        if (isLarge(box)) {
+            this.largeClaims = without(this.largeClaims, claim);
+            this.largeClaimsMask = sectionMask(this.largeClaims);
+            return;
+        }
+
+        var maxX = ChunkSectionPos.getSectionCoord(box.x2());
+        var maxZ = ChunkSectionPos.getSectionCoord(box.z2());
+
+        for (var x = ChunkSectionPos.getSectionCoord(box.x1()); x <= maxX; x++) {
+            for (var z = ChunkSectionPos.getSectionCoord(box.z1()); z <= maxZ; z++) {
+                var key = ChunkPos.toLong(x, z);
+                var bucket = this.buckets.get(key);
+
+                if (bucket != null) {
+                    var updated = without(bucket.claims(), claim);
+
+                    if (updated.length == 0) {
+                        this.buckets.remove(key);
+                    } else if (updated != bucket.claims()) {
+                        this.buckets.put(key, new Bucket(updated, sectionMask(updated)));
+                    }
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        this.buckets.clear();
+        this.largeClaims = EMPTY;
+        this.largeClaimsMask = 0;
+    }
+
+    /**
+     * Returns claims touching the given chunk, excluding ones returned by {@link #getLargeClaims()}.
+     *
+     * @return claims touching the chunk, or null if there are none
+     */
+    @Nullable
+    public Claim[] getBucket(int chunkX, int chunkZ) {
+        var bucket = this.buckets.get(ChunkPos.toLong(chunkX, chunkZ));
+        return bucket != null ? bucket.claims() : null;
+    }
+
+    /**
+     * Returns claims in the given chunk that might contain the given block, or null if the section is known to be unclaimed.
+     */
+    @Nullable
+    private Claim[] getBucketAt(int x, int y, int z) {
+        var bucket = this.buckets.get(ChunkPos.toLong(ChunkSectionPos.getSectionCoord(x), ChunkSectionPos.getSectionCoord(z)));
+        return bucket != null && (bucket.sectionMask() & sectionBit(ChunkSectionPos.getSectionCoord(y))) != 0 ? bucket.claims() : null;
+    }
+
+    private Claim[] getLargeClaimsAt(int y) {
+        return (this.largeClaimsMask & sectionBit(ChunkSectionPos.getSectionCoord(y))) != 0 ? this.largeClaims : EMPTY;
+    }
+
+    /**
+     * Returns claims too big to be stored per chunk. These need to be checked by every query.
+     */
+    public Claim[] getLargeClaims() {
+        return this.largeClaims;
+    }
+
+    /**
+     * Passes every claim touching the given chunk to the consumer, including large ones.
+     */
+    public void forEachClaimInChunk(int chunkX, int chunkZ, Consumer<Claim> consumer) {
+        var bucket = getBucket(chunkX, chunkZ);
+
+        if (bucket != null) {
+            for (var claim : bucket) {
+                consumer.accept(claim);
+            }
+        }
+
+        for (var claim : this.largeClaims) {
+            var box = claim.getClaimBox().toBox();
+
+            if (ChunkSectionPos.getSectionCoord(box.x1()) <= chunkX && chunkX <= ChunkSectionPos.getSectionCoord(box.x2())
+                    && ChunkSectionPos.getSectionCoord(box.z1()) <= chunkZ && chunkZ <= ChunkSectionPos.getSectionCoord(box.z2())) {
+                consumer.accept(claim);
+            }
+        }
+    }
+
+    /**
+     * Returns the first claim containing the given block, or null if there is none.
+     */
+    @Nullable
+    public Claim getClaimAt(int x, int y, int z) {
+        var bucket = getBucketAt(x, y, z);
+
+        if (bucket != null) {
+            for (var claim : bucket) {
+                if (contains(claim.getClaimBox().toBox(), x, y, z)) {
+                    return claim;
+                }
+            }
+        }
+
+        for (var claim : getLargeClaimsAt(y)) {
+            if (contains(claim.getClaimBox().toBox(), x, y, z)) {
+                return claim;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Passes every claim containing the given block to the consumer.
+     */
+    public void forEachClaimAt(int x, int y, int z, Consumer<Claim> consumer) {
+        var bucket = getBucketAt(x, y, z);
+
+        if (bucket != null) {
+            for (var claim : bucket) {
+                if (contains(claim.getClaimBox().toBox(), x, y, z)) {
+                    consumer.accept(claim);
+                }
+            }
+        }
+
+        for (var claim : getLargeClaimsAt(y)) {
+            if (contains(claim.getClaimBox().toBox(), x, y, z)) {
+                consumer.accept(claim);
+            }
+        }
+    }
+
+    /**
+     * Checks if any claim containing the given block matches the predicate. Stops at the first match.
+     */
+    public boolean anyClaimAt(int x, int y, int z, Predicate<Claim> predicate) {
+        var bucket = getBucketAt(x, y, z);
+
+        if (bucket != null) {
+            for (var claim : bucket) {
+                if (contains(claim.getClaimBox().toBox(), x, y, z) && predicate.test(claim)) {
+                    return true;
+                }
+            }
+        }
+
+        for (var claim : getLargeClaimsAt(y)) {
+            if (contains(claim.getClaimBox().toBox(), x, y, z) && predicate.test(claim)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if any claim intersects the given box, treating touching edges as intersecting.
+     * Boxes covering a lot of chunks return null, as the claim tree is faster for them.
+     *
+     * @return whether a claim intersects the box, or null if the box is too big for the index
+     */
+    @Nullable
+    public Boolean intersectsAny(int x1, int y1, int z1, int x2, int y2, int z2) {
+        var minX = ChunkSectionPos.getSectionCoord(x1);
+        var minZ = ChunkSectionPos.getSectionCoord(z1);
+        var maxX = ChunkSectionPos.getSectionCoord(x2);
+        var maxZ = ChunkSectionPos.getSectionCoord(z2);
+
+        if ((long) (maxX - minX + 1) * (maxZ - minZ + 1) > 64) {
+            return null;
+        }
+
+        for (var x = minX; x <= maxX; x++) {
+            for (var z = minZ; z <= maxZ; z++) {
+                var bucket = getBucket(x, z);
+
+                if (bucket != null) {
+                    for (var claim : bucket) {
+                        if (intersectsClosed(claim.getClaimBox().toBox(), x1, y1, z1, x2, y2, z2)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+
+        for (var claim : this.largeClaims) {
+            if (intersectsClosed(claim.getClaimBox().toBox(), x1, y1, z1, x2, y2, z2)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Matches {@link Box#contains(Box)} against a box of a single block.
+     */
+    public static boolean contains(Box box, int x, int y, int z) {
+        return box.x1() <= x && x < box.x2()
+                && box.y1() <= y && y < box.y2()
+                && box.z1() <= z && z < box.z2();
+    }
+
+    /**
+     * Matches {@link Box#intersectsClosed(Box)}.
+     */
+    public static boolean intersectsClosed(Box box, int x1, int y1, int z1, int x2, int y2, int z2) {
+        return box.x1() <= x2 && x1 <= box.x2()
+                && box.y1() <= y2 && y1 <= box.y2()
+                && box.z1() <= z2 && z1 <= box.z2();
+    }
+
+    private static long sectionBit(int sectionY) {
+        return 1L << (sectionY & 63);
+    }
+
+    private static long sectionMask(Box box) {
+        var min = ChunkSectionPos.getSectionCoord(box.y1());
+        var max = ChunkSectionPos.getSectionCoord(box.y2());
+
+        if (max - min >= 63) {
+            return -1L;
+        }
+
+        var mask = 0L;
+        for (var y = min; y <= max; y++) {
+            mask |= sectionBit(y);
+        }
+        return mask;
+    }
+
+    private static long sectionMask(Claim[] claims) {
+        var mask = 0L;
+        for (var claim : claims) {
+            mask |= sectionMask(claim.getClaimBox().toBox());
+        }
+        return mask;
+    }
+
+    private static boolean isLarge(Box box) {
+        return (long) (ChunkSectionPos.getSectionCoord(box.x2()) - ChunkSectionPos.getSectionCoord(box.x1()) + 1) * (ChunkSectionPos.getSectionCoord(box.z2()) - ChunkSectionPos.getSectionCoord(box.z1()) + 1) > MAX_BUCKETED_CHUNKS;
+    }
+
+    private static Claim[] append(@Nullable Claim[] array, Claim claim) {
+        if (array == null) {
+            return new Claim[] { claim };
+        }
+
+        for (var c : array) {
+            if (c == claim) {
+                return array;
+            }
+        }
+
+        var copy = new Claim[array.length + 1];
+        System.arraycopy(array, 0, copy, 0, array.length);
+        copy[array.length] = claim;
+        return copy;
+    }
+
+    private record Bucket(Claim[] claims, long sectionMask) {}
+
+    private static Claim[] without(Claim[] array, Claim claim) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == claim) {
+                var copy = new Claim[array.length - 1];
+                System.arraycopy(array, 0, copy, 0, i);
+                System.arraycopy(array, i + 1, copy, i, array.length - i - 1);
+                return copy;
+            }
+        }
+
+        return array;
+    }
+}
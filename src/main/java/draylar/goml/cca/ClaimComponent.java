@@ -4,9 +4,142 @@ import com.jamieswhiteshirt.rtree3i.RTreeMap;
 import dev.onyxstudios.cca.api.v3.component.ComponentV3;
 import draylar.goml.api.Claim;
 import draylar.goml.api.ClaimBox;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public interface ClaimComponent extends ComponentV3 {
+    /**
+     * Returns a persistent tree of all claims. It won't reflect changes made after this call,
+     * so prefer the query methods below for lookups.
+     * <p>The tree is brought up to date lazily, so the first call after claims were added or removed
+     * pays for every change since the previous one.
+     */
     RTreeMap<ClaimBox, Claim> getClaims();
+
+    /**
+     * Returns an immutable list of all claims. It won't reflect changes made after this call,
+     * so it's safe to add or remove claims while iterating it.
+     */
+    List<Claim> getAllClaims();
+
     void add(Claim info);
     void remove(Claim info);
+
+    /**
+     * Returns a counter that changes whenever claims are added or removed, so callers can tell when cached lookups went stale.
+     */
+    int getModificationCount();
+
+    /**
+     * Returns the claim with the given id in this world, or null if there is none.
+     */
+    @Nullable
+    Claim getClaimById(long id);
+
+    /**
+     * Returns claims anchored at the given position. Under normal circumstances there's at most one.
+     */
+    List<Claim> getClaimsWithOrigin(BlockPos origin);
+
+    /**
+     * Checks if any claim contains the given block, using the chunk index instead of the claim tree.
+     */
+    boolean hasClaimAt(int x, int y, int z);
+
+    /**
+     * Returns the first claim containing the given block, or null if there is none.
+     */
+    @Nullable
+    Claim getClaimAt(int x, int y, int z);
+
+    /**
+     * Passes every claim containing the given block to the consumer.
+     */
+    void forEachClaimAt(int x, int y, int z, Consumer<Claim> consumer);
+
+    /**
+     * Checks if any claim containing the given block matches the predicate. Stops at the first match.
+     */
+    boolean anyClaimAt(int x, int y, int z, Predicate<Claim> predicate);
+
+    /**
+     * Checks if any claim intersects the given box, treating touching edges as intersecting.
+     */
+    boolean hasClaimInBox(int x1, int y1, int z1, int x2, int y2, int z2);
+
+    /**
+     * Passes every claim intersecting the given box to the consumer, treating touching edges as intersecting.
+     */
+    void forEachClaimInBox(int x1, int y1, int z1, int x2, int y2, int z2, Consumer<Claim> consumer);
+
+    /**
+     * Returns claims the given player owns. The returned collection is a live view.
+     */
+    Collection<Claim> getClaimsOwnedBy(UUID uuid);
+
+    /**
+     * Returns claims the given player is directly trusted in. The returned collection is a live view.
+     */
+    Collection<Claim> getClaimsTrusting(UUID uuid);
+
+    /**
+     * Returns claims the given player owns, is trusted in or belongs to a group trusted in.
+     */
+    Collection<Claim> getClaimsWithAccess(UUID uuid);
+
+    /**
+     * Returns owners and trusted players of every claim at the given block. The result is cached until claims
+     * or their players change, so it's cheap to call repeatedly for the same position. Don't modify it.
+     */
+    Set<UUID> getPlayersTrustedAt(int x, int y, int z);
+
+    /**
+     * Counts loaded chunks within the given chunk coordinates, inclusive.
+     */
+    int countLoadedChunks(int minX, int minZ, int maxX, int maxZ);
+
+    @ApiStatus.Internal
+    void internal_onChunkLoad(int chunkX, int chunkZ);
+
+    @ApiStatus.Internal
+    void internal_onChunkUnload(int chunkX, int chunkZ);
+
+    /**
+     * Ticks claims that have players inside them or augments due to tick.
+     */
+    @ApiStatus.Internal
+    void internal_tick(ServerWorld world);
+
+    /**
+     * Called when augments of a claim change, to check if it still needs ticking without players inside.
+     */
+    @ApiStatus.Internal
+    void internal_updateTicking(Claim claim);
+
+    @ApiStatus.Internal
+    void internal_updatePlayer(Claim claim, UUID uuid);
+
+    @ApiStatus.Internal
+    void internal_updateGroups(Claim claim);
+
+    /**
+     * Called when a claim changed, so it gets saved with the world.
+     */
+    @ApiStatus.Internal
+    void internal_markDirty(Claim claim);
+
+    /**
+     * Called when the world unloads, after it got saved.
+     */
+    @ApiStatus.Internal
+    void internal_onUnload();
 }
@@ -0,0 +1,59 @@
+package draylar.goml.cca;
+
+import draylar.goml.api.Claim;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Server-wide map of claim ids to claims, which also hands out ids to claims that don't have one yet.
+ * <p>Ids are saved with claims, and the next free id is saved with every world, so ids of destroyed claims
+ * aren't handed out again after a restart.
+ */
+@ApiStatus.Internal
+public class ClaimIdRegistry {
+    private static final Long2ObjectOpenHashMap<Claim> CLAIMS = new Long2ObjectOpenHashMap<>();
+    private static long nextId = 0;
+
+    /**
+     * Registers the claim under its id. Claims without an id, or with one already taken by another claim, get a new one.
+     */
+    public static void register(Claim claim) {
+        var id = claim.getId();
+
+        if (id < 0 || (CLAIMS.containsKey(id) && CLAIMS.get(id) != claim)) {
+            id = nextId;
+            claim.internal_setId(id);
+        }
+
+        CLAIMS.put(id, claim);
+        nextId = Math.max(nextId, id + 1);
+    }
+
+    /**
+     * Makes sure the given id, and every one below it, is never handed out.
+     */
+    public static void reserve(long id) {
+        nextId = Math.max(nextId, id + 1);
+    }
+
+    public static long getNextId() {
+        return nextId;
+    }
+
+    public static void unregister(Claim claim) {
+        if (CLAIMS.get(claim.getId()) == claim) {
+            CLAIMS.remove(claim.getId());
+        }
+    }
+
+    @Nullable
+    public static Claim get(long id) {
+        return CLAIMS.get(id);
+    }
+
+    public static void clear() {
+        CLAIMS.clear();
+        nextId = 0;
+    }
+}
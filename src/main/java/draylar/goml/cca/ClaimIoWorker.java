@@ -0,0 +1,44 @@
+package draylar.goml.cca;
+
+import draylar.goml.GetOffMyLawn;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Single background thread writing claim files, so compressing and writing them doesn't happen on the server thread.
+ * <p>Tasks run in the order they were submitted, so later writes of a file always win over earlier ones.
+ */
+@ApiStatus.Internal
+public class ClaimIoWorker {
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "GOML Claim IO");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public static void submit(Runnable task) {
+        EXECUTOR.execute(() -> {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                GetOffMyLawn.LOGGER.error("Claim IO task failed!", e);
+            }
+        });
+    }
+
+    /**
+     * Blocks until every task submitted so far has finished.
+     */
+    public static void flush() {
+        try {
+            EXECUTOR.submit(() -> {}).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            GetOffMyLawn.LOGGER.error("Couldn't wait for claim IO!", e);
+        }
+    }
+}
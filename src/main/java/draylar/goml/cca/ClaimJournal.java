@@ -0,0 +1,224 @@
+package draylar.goml.cca;
+
+import draylar.goml.GetOffMyLawn;
+import it.unimi.dsi.fastutil.io.FastByteArrayOutputStream;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtTagSizeTracker;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of claims changed since the last successful segment save, so a crash doesn't lose them.
+ * <p>Every record holds the whole claim, or marks it as removed. Records are replayed in order on top of the segments
+ * while loading, and the log is emptied once a save containing them reached the disk.
+ * <p>Writing, syncing and truncating only happens on {@link ClaimIoWorker}.
+ */
+@ApiStatus.Internal
+public class ClaimJournal {
+    private static final byte UPSERT = 0;
+    private static final byte DELETE = 1;
+    private static final long SYNC_INTERVAL = 1000;
+
+    private final Path file;
+    @Nullable
+    private FileChannel channel;
+    private long lastSync = 0;
+    private boolean unsynced = false;
+    /**
+     * Length of the valid part of the log found by {@link #read(RecordConsumer)}, or -1 if it wasn't read.
+     * Anything after it gets cut off before appending, so new records don't end up behind a broken one.
+     */
+    private long validLength = -1;
+
+    public ClaimJournal(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Encodes a batch of records. Null NBT marks the claim with that id as removed.
+     */
+    public static byte[] encode(List<Record> records) {
+        var bytes = new FastByteArrayOutputStream();
+        var payload = new FastByteArrayOutputStream();
+
+        try {
+            var output = new DataOutputStream(bytes);
+            var crc = new CRC32();
+
+            for (var record : records) {
+                payload.reset();
+                var payloadOutput = new DataOutputStream(payload);
+                payloadOutput.writeByte(record.nbt() != null ? UPSERT : DELETE);
+                payloadOutput.writeLong(record.id());
+                if (record.nbt() != null) {
+                    NbtIo.write(record.nbt(), payloadOutput);
+                }
+
+                crc.reset();
+                crc.update(payload.array, 0, payload.length);
+                output.writeInt(payload.length);
+                output.writeInt((int) crc.getValue());
+                output.write(payload.array, 0, payload.length);
+            }
+        } catch (IOException e) {
+            // Writing to memory doesn't fail
+            throw new RuntimeException(e);
+        }
+
+        return bytes.array.length == bytes.length ? bytes.array : Arrays.copyOf(bytes.array, bytes.length);
+    }
+
+    public void append(byte[] records) {
+        try {
+            if (this.channel == null) {
+                Files.createDirectories(this.file.getParent());
+                this.channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+                if (this.validLength >= 0 && this.channel.size() > this.validLength) {
+                    this.channel.truncate(this.validLength);
+                    this.channel.force(false);
+                }
+                this.validLength = -1;
+            }
+
+            var buffer = ByteBuffer.wrap(records);
+            while (buffer.hasRemaining()) {
+                this.channel.write(buffer);
+            }
+            this.unsynced = true;
+
+            if (System.currentTimeMillis() - this.lastSync >= SYNC_INTERVAL) {
+                this.sync();
+            }
+        } catch (IOException e) {
+            GetOffMyLawn.LOGGER.error(String.format("Couldn't append to claim journal %s!", this.file), e);
+        }
+    }
+
+    /**
+     * Forces written records to the disk, if there are any since the last sync.
+     */
+    public void sync() {
+        if (this.channel == null || !this.unsynced) {
+            return;
+        }
+
+        try {
+            this.channel.force(false);
+            this.unsynced = false;
+            this.lastSync = System.currentTimeMillis();
+        } catch (IOException e) {
+            GetOffMyLawn.LOGGER.error(String.format("Couldn't sync claim journal %s!", this.file), e);
+        }
+    }
+
+    /**
+     * Drops every record, called once the segments contain all of them.
+     */
+    public void truncate() {
+        try {
+            this.validLength = -1;
+            if (this.channel != null) {
+                this.channel.truncate(0);
+                this.channel.force(false);
+                this.unsynced = false;
+            } else {
+                Files.deleteIfExists(this.file);
+            }
+        } catch (IOException e) {
+            GetOffMyLawn.LOGGER.error(String.format("Couldn't truncate claim journal %s!", this.file), e);
+        }
+    }
+
+    public void close() {
+        if (this.channel == null) {
+            return;
+        }
+
+        this.sync();
+        try {
+            this.channel.close();
+        } catch (IOException e) {
+            GetOffMyLawn.LOGGER.error(String.format("Couldn't close claim journal %s!", this.file), e);
+        }
+        this.channel = null;
+    }
+
+    /**
+     * Reads every complete record. A torn or corrupted record at the end, left by a crash mid-write, ends the log.
+     *
+     * @return length of the log up to the end of the last valid record
+     */
+    public long read(RecordConsumer consumer) {
+        var offset = 0L;
+
+        if (!Files.isRegularFile(this.file)) {
+            this.validLength = offset;
+            return offset;
+        }
+
+        try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.file)))) {
+            var size = Files.size(this.file);
+            var crc = new CRC32();
+
+            while (true) {
+                int length;
+                int checksum;
+                byte[] payload;
+                try {
+                    length = input.readInt();
+                    checksum = input.readInt();
+                    if (length < 9 || offset + 8 + length > size) {
+                        GetOffMyLawn.LOGGER.warn("Claim journal {} ends with a broken record, ignoring the rest of it", this.file);
+                        break;
+                    }
+                    payload = input.readNBytes(length);
+                } catch (EOFException e) {
+                    break;
+                }
+
+                crc.reset();
+                crc.update(payload);
+                if (payload.length != length || (int) crc.getValue() != checksum) {
+                    GetOffMyLawn.LOGGER.warn("Claim journal {} ends with a broken record, ignoring the rest of it", this.file);
+                    break;
+                }
+
+                var record = new DataInputStream(new ByteArrayInputStream(payload));
+                var type = record.readByte();
+                var id = record.readLong();
+                consumer.accept(id, type == UPSERT ? NbtIo.readCompound(record, NbtTagSizeTracker.ofUnlimitedBytes()) : null);
+                offset += 8 + length;
+            }
+        } catch (IOException e) {
+            // Not a torn record, so don't cut off anything that wasn't read
+            GetOffMyLawn.LOGGER.error(String.format("Couldn't read claim journal %s!", this.file), e);
+            return offset;
+        }
+
+        this.validLength = offset;
+        return offset;
+    }
+
+    public record Record(long id, @Nullable NbtCompound nbt) {}
+
+    public interface RecordConsumer {
+        void accept(long id, @Nullable NbtCompound nbt);
+    }
+}
@@ -0,0 +1,125 @@
+package draylar.goml.cca;
+
+import draylar.goml.api.Claim;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * Maps player UUIDs to the claims they own or are trusted in, so per-player lookups don't need to check every claim.
+ * <p>Claims trusting groups are kept in a separate set, as their members can only be checked by asking the group.
+ */
+@ApiStatus.Internal
+public class ClaimPlayerIndex {
+    private final Object2ObjectOpenHashMap<UUID, ReferenceLinkedOpenHashSet<Claim>> owned = new Object2ObjectOpenHashMap<>();
+    private final Object2ObjectOpenHashMap<UUID, ReferenceLinkedOpenHashSet<Claim>> trusted = new Object2ObjectOpenHashMap<>();
+    private final ReferenceLinkedOpenHashSet<Claim> groupClaims = new ReferenceLinkedOpenHashSet<>();
+
+    public void add(Claim claim) {
+        for (var uuid : claim.getOwners()) {
+            put(this.owned, uuid, claim);
+        }
+
+        for (var uuid : claim.getTrusted()) {
+            put(this.trusted, uuid, claim);
+        }
+
+        this.updateGroups(claim);
+    }
+
+    public void remove(Claim claim) {
+        for (var uuid : claim.getOwners()) {
+            remove(this.owned, uuid, claim);
+        }
+
+        for (var uuid : claim.getTrusted()) {
+            remove(this.trusted, uuid, claim);
+        }
+
+        this.groupClaims.remove(claim);
+    }
+
+    /**
+     * Checks again if the given player owns or is trusted in the claim.
+     */
+    public void update(Claim claim, UUID uuid) {
+        if (claim.isOwner(uuid)) {
+            put(this.owned, uuid, claim);
+        } else {
+            remove(this.owned, uuid, claim);
+        }
+
+        if (claim.getTrusted().contains(uuid)) {
+            put(this.trusted, uuid, claim);
+        } else {
+            remove(this.trusted, uuid, claim);
+        }
+    }
+
+    public void updateGroups(Claim claim) {
+        if (claim.hasTrustedGroups()) {
+            this.groupClaims.add(claim);
+        } else {
+            this.groupClaims.remove(claim);
+        }
+    }
+
+    public void clear() {
+        this.owned.clear();
+        this.trusted.clear();
+        this.groupClaims.clear();
+    }
+
+    public Collection<Claim> getOwned(UUID uuid) {
+        return view(this.owned.get(uuid));
+    }
+
+    public Collection<Claim> getTrusted(UUID uuid) {
+        return view(this.trusted.get(uuid));
+    }
+
+    /**
+     * Returns claims the player owns, is trusted in or belongs to a group trusted in.
+     */
+    public Collection<Claim> getWithAccess(UUID uuid) {
+        var owned = this.owned.get(uuid);
+        var trusted = this.trusted.get(uuid);
+        var claims = new ReferenceLinkedOpenHashSet<Claim>();
+
+        if (owned != null) {
+            claims.addAll(owned);
+        }
+
+        if (trusted != null) {
+            claims.addAll(trusted);
+        }
+
+        for (var claim : this.groupClaims) {
+            if (!claims.contains(claim) && claim.hasPermission(uuid)) {
+                claims.add(claim);
+            }
+        }
+
+        return claims;
+    }
+
+    private static void put(Object2ObjectOpenHashMap<UUID, ReferenceLinkedOpenHashSet<Claim>> map, UUID uuid, Claim claim) {
+        map.computeIfAbsent(uuid, x -> new ReferenceLinkedOpenHashSet<>()).add(claim);
+    }
+
+    private static void remove(Object2ObjectOpenHashMap<UUID, ReferenceLinkedOpenHashSet<Claim>> map, UUID uuid, Claim claim) {
+        var claims = map.get(uuid);
+
+        if (claims != null && claims.remove(claim) && claims.isEmpty()) {
+            map.remove(uuid);
+        }
+    }
+
+    private static Collection<Claim> view(Collection<Claim> claims) {
+        return claims != null ? Collections.unmodifiableCollection(claims) : Collections.emptyList();
+    }
+}
@@ -0,0 +1,75 @@
+package draylar.goml.cca;
+
+import draylar.goml.api.Claim;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.MathHelper;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds occupied claims by looking up the claims around each player, instead of scanning for players in every claim.
+ * <p>Only claims that contain a player, contained one last tick or have a ticking augment due get ticked.
+ */
+@ApiStatus.Internal
+public class ClaimPresenceTracker {
+    private Reference2ObjectOpenHashMap<Claim, List<PlayerEntity>> occupied = new Reference2ObjectOpenHashMap<>();
+    private Reference2ObjectOpenHashMap<Claim, List<PlayerEntity>> previouslyOccupied = new Reference2ObjectOpenHashMap<>();
+    private final ReferenceOpenHashSet<Claim> dueClaims = new ReferenceOpenHashSet<>();
+
+    public void tick(ServerWorld world, ClaimComponent component, AugmentTickScheduler scheduler) {
+        var occupied = this.previouslyOccupied;
+        this.previouslyOccupied = this.occupied;
+        this.occupied = occupied;
+        occupied.clear();
+
+        for (var player : world.getPlayers()) {
+            var box = player.getBoundingBox();
+
+            // Claim boxes used for entity checks reach one block past the block box, so look one block further
+            component.forEachClaimInBox(
+                    MathHelper.floor(box.minX) - 1, MathHelper.floor(box.minY) - 1, MathHelper.floor(box.minZ) - 1,
+                    MathHelper.floor(box.maxX), MathHelper.floor(box.maxY), MathHelper.floor(box.maxZ),
+                    claim -> {
+                        if (claim.getClaimBox().minecraftBox().intersects(box)) {
+                            occupied.computeIfAbsent(claim, c -> new ArrayList<>()).add(player);
+                        }
+                    });
+        }
+
+        // Empty claims only need a tick when one of their augments is due, occupied ones get ticked below anyway
+        this.dueClaims.clear();
+        scheduler.tick(world.getTime(), claim -> {
+            if (!occupied.containsKey(claim)) {
+                this.dueClaims.add(claim);
+            }
+        });
+
+        for (var claim : this.dueClaims) {
+            claim.tick(world, List.of());
+        }
+
+        for (var entry : occupied.reference2ObjectEntrySet()) {
+            entry.getKey().tick(world, entry.getValue());
+        }
+
+        // Claims everyone just left still need a tick to run their exit callbacks
+        for (var claim : this.previouslyOccupied.keySet()) {
+            if (!occupied.containsKey(claim) && !this.dueClaims.contains(claim) && !claim.isDestroyed()) {
+                claim.tick(world, List.of());
+            }
+        }
+
+        this.dueClaims.clear();
+    }
+
+    public void clear() {
+        this.occupied.clear();
+        this.previouslyOccupied.clear();
+        this.dueClaims.clear();
+    }
+}
@@ -0,0 +1,328 @@
+package draylar.goml.cca;
+
+import draylar.goml.GetOffMyLawn;
+import draylar.goml.api.Claim;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.nbt.NbtTagSizeTracker;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.WorldSavePath;
+import net.minecraft.world.dimension.DimensionType;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores claims of a world in segment files next to its region files, grouped by claim id.
+ * <p>Only segments containing claims that changed since the last save get written again,
+ * and claims that didn't change reuse the NBT they were last saved with. Compressing and writing
+ * happens on {@link ClaimIoWorker}, the server thread only captures what needs to be written.
+ * <p>Changes between saves go to a {@link ClaimJournal}, which is emptied once a save containing them is written.
+ */
+@ApiStatus.Internal
+public class ClaimStorage {
+    public static final int FORMAT_VERSION = 1;
+    private static final int SEGMENT_SHIFT = 8;
+    private static final String SEGMENT_PREFIX = "segment_";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    private final Path directory;
+    private final ClaimJournal journal;
+    /**
+     * Claims changed since the journal was last written to, mapped by id. Removed claims map to null.
+     */
+    private final Long2ObjectLinkedOpenHashMap<Claim> journalQueue = new Long2ObjectLinkedOpenHashMap<>();
+    private boolean journalUnsynced = false;
+    private final Long2ObjectOpenHashMap<ReferenceOpenHashSet<Claim>> segments = new Long2ObjectOpenHashMap<>();
+    private final LongOpenHashSet dirtySegments = new LongOpenHashSet();
+    /**
+     * Segments the worker couldn't write, picked up again on the next save.
+     */
+    private final LongSet failedSegments = LongSets.synchronize(new LongOpenHashSet());
+    /**
+     * Batches are numbered in the order they're captured, so the worker can tell when the first one containing
+     * every claim got written.
+     */
+    private long capturedBatches = 0;
+    private long requiredBatch = 0;
+    private volatile long writtenBatch = 0;
+
+    public ClaimStorage(Path directory) {
+        this.directory = directory;
+        this.journal = new ClaimJournal(directory.resolve("journal.log"));
+    }
+
+    public static ClaimStorage of(ServerWorld world) {
+        var root = world.getServer().getSavePath(WorldSavePath.ROOT);
+        return new ClaimStorage(DimensionType.getSaveDirectory(world.getRegistryKey(), root).resolve("goml_claims"));
+    }
+
+    private static long segmentOf(Claim claim) {
+        return segmentOf(claim.getId());
+    }
+
+    private static long segmentOf(long id) {
+        return id >> SEGMENT_SHIFT;
+    }
+
+    public void add(Claim claim) {
+        var segment = segmentOf(claim);
+        this.segments.computeIfAbsent(segment, x -> new ReferenceOpenHashSet<>()).add(claim);
+        this.dirtySegments.add(segment);
+    }
+
+    /**
+     * Adds a claim that was just loaded from its segment, without writing that segment again.
+     */
+    public void addLoaded(Claim claim) {
+        this.segments.computeIfAbsent(segmentOf(claim), x -> new ReferenceOpenHashSet<>()).add(claim);
+    }
+
+    public void remove(Claim claim) {
+        var segment = segmentOf(claim);
+        var claims = this.segments.get(segment);
+
+        if (claims != null && claims.remove(claim)) {
+            this.dirtySegments.add(segment);
+        }
+    }
+
+    public void markDirty(Claim claim) {
+        this.dirtySegments.add(segmentOf(claim));
+    }
+
+    /**
+     * Marks the segment a claim with the given id is stored in.
+     */
+    public void markIdDirty(long id) {
+        this.dirtySegments.add(segmentOf(id));
+    }
+
+    /**
+     * Queues the current state of the claim for the journal.
+     */
+    public void journalUpdate(Claim claim) {
+        this.journalQueue.put(claim.getId(), claim);
+    }
+
+    public void journalRemove(Claim claim) {
+        this.journalQueue.put(claim.getId(), null);
+    }
+
+    /**
+     * Hands queued journal records to the worker. Called every tick, so changes reach the disk long before the next save.
+     */
+    public void flushJournal(long time) {
+        if (!this.journalQueue.isEmpty()) {
+            var records = new ArrayList<ClaimJournal.Record>(this.journalQueue.size());
+            for (var entry : this.journalQueue.long2ObjectEntrySet()) {
+                var claim = entry.getValue();
+                records.add(new ClaimJournal.Record(entry.getLongKey(), claim != null ? claim.internal_getSaveNbt() : null));
+            }
+            this.journalQueue.clear();
+            this.journalUnsynced = true;
+
+            ClaimIoWorker.submit(() -> this.journal.append(ClaimJournal.encode(records)));
+        } else if (this.journalUnsynced && time % 20 == 0) {
+            // Appends only sync once in a while, make sure the last ones don't stay in the page cache forever
+            this.journalUnsynced = false;
+            ClaimIoWorker.submit(this.journal::sync);
+        }
+    }
+
+    /**
+     * Passes records of the journal to the consumer, in the order they were written.
+     * Call it after {@link #load()}, as they need to be applied on top of the segments.
+     */
+    public void replayJournal(ClaimJournal.RecordConsumer consumer) {
+        ClaimIoWorker.flush();
+        this.journal.read(consumer);
+    }
+
+    /**
+     * Closes the journal once pending writes are done.
+     */
+    public void close() {
+        ClaimIoWorker.submit(this.journal::close);
+    }
+
+    /**
+     * Marks every segment for saving, for example after converting claims from the old format.
+     */
+    public void markAllDirty() {
+        this.dirtySegments.addAll(this.segments.keySet());
+        this.requiredBatch = this.capturedBatches + 1;
+    }
+
+    public void clear() {
+        this.segments.clear();
+        this.dirtySegments.clear();
+        this.failedSegments.clear();
+        this.journalQueue.clear();
+        this.requiredBatch = this.capturedBatches;
+    }
+
+    /**
+     * Reads claim records of every segment file.
+     */
+    public List<NbtCompound> load() {
+        // Writes from an earlier session might still be in flight
+        ClaimIoWorker.flush();
+        var claims = new ArrayList<NbtCompound>();
+
+        if (!Files.isDirectory(this.directory)) {
+            return claims;
+        }
+
+        try (var files = Files.list(this.directory)) {
+            for (var file : (Iterable<Path>) files::iterator) {
+                var name = file.getFileName().toString();
+
+                if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+                    continue;
+                }
+
+                try {
+                    var nbt = NbtIo.readCompressed(file, NbtTagSizeTracker.ofUnlimitedBytes());
+                    for (var claim : nbt.getList("Claims", NbtElement.COMPOUND_TYPE)) {
+                        claims.add((NbtCompound) claim);
+                    }
+                } catch (IOException e) {
+                    GetOffMyLawn.LOGGER.error(String.format("Couldn't read claim segment %s!", file), e);
+                }
+            }
+        } catch (IOException e) {
+            GetOffMyLawn.LOGGER.error(String.format("Couldn't list claim segments in %s!", this.directory), e);
+        }
+
+        return claims;
+    }
+
+    /**
+     * Captures every segment that changed since the last save and hands them to {@link ClaimIoWorker} for writing.
+     * Only claims that changed get serialized again here, the rest reuse the NBT they were last saved with.
+     */
+    public void save() {
+        synchronized (this.failedSegments) {
+            this.dirtySegments.addAll(this.failedSegments);
+            this.failedSegments.clear();
+        }
+
+        if (this.dirtySegments.isEmpty()) {
+            return;
+        }
+
+        // Queued claims are part of the dirty segments, so this save covers them
+        this.journalQueue.clear();
+
+        var writes = new ArrayList<SegmentWrite>(this.dirtySegments.size());
+        var iterator = this.dirtySegments.iterator();
+        while (iterator.hasNext()) {
+            var segment = iterator.nextLong();
+            var claims = this.segments.get(segment);
+
+            if (claims == null || claims.isEmpty()) {
+                this.segments.remove(segment);
+                writes.add(new SegmentWrite(segment, null));
+            } else {
+                var list = new NbtList();
+                for (var claim : claims) {
+                    // Claims never modify NBT they handed out, so it's safe to read it from the worker
+                    list.add(claim.internal_getSaveNbt());
+                }
+
+                var nbt = new NbtCompound();
+                nbt.putInt("Version", FORMAT_VERSION);
+                nbt.put("Claims", list);
+                writes.add(new SegmentWrite(segment, nbt));
+            }
+        }
+        this.dirtySegments.clear();
+
+        var batch = ++this.capturedBatches;
+        ClaimIoWorker.submit(() -> this.write(batch, writes));
+    }
+
+    /**
+     * Checks if every captured segment made it to disk. Until then, the component keeps a full copy of its claims.
+     */
+    public boolean isPersisted() {
+        return this.writtenBatch >= this.requiredBatch && this.failedSegments.isEmpty();
+    }
+
+    private void write(long batch, List<SegmentWrite> writes) {
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException e) {
+            GetOffMyLawn.LOGGER.error(String.format("Couldn't create claim directory %s!", this.directory), e);
+            writes.forEach(write -> this.failedSegments.add(write.segment()));
+            return;
+        }
+
+        var failed = false;
+        for (var write : writes) {
+            var file = this.directory.resolve(SEGMENT_PREFIX + write.segment() + SEGMENT_SUFFIX);
+
+            try {
+                if (write.nbt() == null) {
+                    Files.deleteIfExists(file);
+                } else {
+                    // Write next to it first, so a crash mid-write can't leave a broken segment behind
+                    var temp = file.resolveSibling(file.getFileName() + ".tmp");
+                    NbtIo.writeCompressed(write.nbt(), temp);
+                    try (var channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                        channel.force(true);
+                    }
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (Exception e) {
+                GetOffMyLawn.LOGGER.error(String.format("Couldn't save claim segment %s!", file), e);
+                this.failedSegments.add(write.segment());
+                failed = true;
+            }
+        }
+
+        if (!failed) {
+            this.writtenBatch = batch;
+
+            // Everything journaled so far is in the segments now. Records queued after this batch are still ahead of it.
+            // The renames have to be durable before the journal covering them goes away
+            if (this.failedSegments.isEmpty() && this.syncDirectory()) {
+                this.journal.truncate();
+            }
+        }
+    }
+
+    private boolean syncDirectory() {
+        try (var channel = FileChannel.open(this.directory, StandardOpenOption.READ)) {
+            channel.force(true);
+            return true;
+        } catch (IOException e) {
+            // Some platforms can't open directories, renames there are as durable as they get already
+            if (System.getProperty("os.name", "").startsWith("Windows")) {
+                return true;
+            }
+
+            GetOffMyLawn.LOGGER.error(String.format("Couldn't sync claim directory %s!", this.directory), e);
+            return false;
+        }
+    }
+
+    private record SegmentWrite(long segment, @Nullable NbtCompound nbt) {}
+}
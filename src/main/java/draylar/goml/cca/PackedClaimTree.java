@@ -0,0 +1,287 @@
+package draylar.goml.cca;
+
+import draylar.goml.api.Claim;
+import it.unimi.dsi.fastutil.objects.ReferenceArrayList;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Read-optimised R-tree over all claims of a world, bulk-loaded in a single pass.
+ * <p>Claims are sorted along a Hilbert curve and packed into full nodes, with all bounds kept in flat int arrays.
+ * Claims added or removed after a build are kept in a small overflow, which is merged back by rebuilding
+ * once it grows past a fraction of the tree.
+ */
+@ApiStatus.Internal
+public class PackedClaimTree {
+    private static final int NODE_SIZE = 16;
+    private static final int MIN_OVERFLOW = 64;
+    private static final Claim[] EMPTY = new Claim[0];
+    private static final int[] EMPTY_INT = new int[0];
+
+    private Claim[] items = EMPTY;
+    private int[] itemBounds = EMPTY_INT;
+    private int[] nodeBounds = EMPTY_INT;
+    private int[] nodeStart = EMPTY_INT;
+    private int[] nodeEnd = EMPTY_INT;
+    private int leafNodes;
+    private int nodes;
+
+    private final ReferenceArrayList<Claim> added = new ReferenceArrayList<>();
+    private final ReferenceOpenHashSet<Claim> removed = new ReferenceOpenHashSet<>();
+
+    /**
+     * Replaces the contents of this tree with the given claims.
+     */
+    public void build(Collection<Claim> claims) {
+        this.added.clear();
+        this.removed.clear();
+
+        var count = claims.size();
+        var sorted = claims.toArray(new Claim[count]);
+        var bounds = new int[count * 6];
+
+        for (int i = 0; i < count; i++) {
+            var box = sorted[i].getClaimBox().toBox();
+            setBounds(bounds, i, box.x1(), box.y1(), box.z1(), box.x2(), box.y2(), box.z2());
+        }
+
+        sortByHilbert(sorted, bounds);
+
+        this.items = sorted;
+        this.itemBounds = bounds;
+        this.buildNodes();
+    }
+
+    public void add(Claim claim) {
+        this.added.add(claim);
+    }
+
+    public void remove(Claim claim) {
+        if (!this.added.remove(claim)) {
+            this.removed.add(claim);
+        }
+    }
+
+    public void clear() {
+        this.build(List.of());
+    }
+
+    /**
+     * Checks if enough claims changed since the last build for a rebuild to be worth it.
+     */
+    public boolean needsRebuild() {
+        return this.added.size() + this.removed.size() > Math.max(MIN_OVERFLOW, this.items.length >> 4);
+    }
+
+    /**
+     * Checks if any claim intersecting the given box matches the predicate, treating touching edges as intersecting.
+     * Stops at the first match, so it can also be used to visit every intersecting claim.
+     */
+    public boolean anyIntersecting(int x1, int y1, int z1, int x2, int y2, int z2, Predicate<Claim> predicate) {
+        if (this.nodes > 0 && this.visit(this.nodes - 1, x1, y1, z1, x2, y2, z2, predicate)) {
+            return true;
+        }
+
+        for (int i = 0; i < this.added.size(); i++) {
+            var claim = this.added.get(i);
+
+            if (ClaimChunkIndex.intersectsClosed(claim.getClaimBox().toBox(), x1, y1, z1, x2, y2, z2) && predicate.test(claim)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean visit(int node, int x1, int y1, int z1, int x2, int y2, int z2, Predicate<Claim> predicate) {
+        var start = this.nodeStart[node];
+        var end = this.nodeEnd[node];
+
+        if (node < this.leafNodes) {
+            var checkRemoved = !this.removed.isEmpty();
+
+            for (int i = start; i < end; i++) {
+                if (intersects(this.itemBounds, i, x1, y1, z1, x2, y2, z2)) {
+                    var claim = this.items[i];
+
+                    if ((!checkRemoved || !this.removed.contains(claim)) && predicate.test(claim)) {
+                        return true;
+                    }
+                }
+            }
+        } else {
+            for (int i = start; i < end; i++) {
+                if (intersects(this.nodeBounds, i, x1, y1, z1, x2, y2, z2) && this.visit(i, x1, y1, z1, x2, y2, z2, predicate)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private void buildNodes() {
+        var count = this.items.length;
+
+        if (count == 0) {
+            this.nodeBounds = EMPTY_INT;
+            this.nodeStart = EMPTY_INT;
+            this.nodeEnd = EMPTY_INT;
+            this.leafNodes = 0;
+            this.nodes = 0;
+            return;
+        }
+
+        var total = 0;
+        for (var level = count; level > 1 || total == 0; level = divideUp(level)) {
+            total += divideUp(level);
+        }
+
+        this.nodeBounds = new int[total * 6];
+        this.nodeStart = new int[total];
+        this.nodeEnd = new int[total];
+        this.leafNodes = divideUp(count);
+
+        var node = 0;
+        var childBounds = this.itemBounds;
+        var childOffset = 0;
+        var childCount = count;
+
+        while (true) {
+            var levelStart = node;
+
+            for (int start = 0; start < childCount; start += NODE_SIZE) {
+                var end = Math.min(start + NODE_SIZE, childCount);
+                this.nodeStart[node] = childOffset + start;
+                this.nodeEnd[node] = childOffset + end;
+
+                var minX = Integer.MAX_VALUE;
+                var minY = Integer.MAX_VALUE;
+                var minZ = Integer.MAX_VALUE;
+                var maxX = Integer.MIN_VALUE;
+                var maxY = Integer.MIN_VALUE;
+                var maxZ = Integer.MIN_VALUE;
+
+                for (int i = childOffset + start; i < childOffset + end; i++) {
+                    minX = Math.min(minX, childBounds[i * 6]);
+                    minY = Math.min(minY, childBounds[i * 6 + 1]);
+                    minZ = Math.min(minZ, childBounds[i * 6 + 2]);
+                    maxX = Math.max(maxX, childBounds[i * 6 + 3]);
+                    maxY = Math.max(maxY, childBounds[i * 6 + 4]);
+                    maxZ = Math.max(maxZ, childBounds[i * 6 + 5]);
+                }
+
+                setBounds(this.nodeBounds, node, minX, minY, minZ, maxX, maxY, maxZ);
+                node++;
+            }
+
+            if (node - levelStart == 1) {
+                break;
+            }
+
+            childBounds = this.nodeBounds;
+            childOffset = levelStart;
+            childCount = node - levelStart;
+        }
+
+        this.nodes = node;
+    }
+
+    private static void sortByHilbert(Claim[] claims, int[] bounds) {
+        var count = claims.length;
+
+        if (count < 2) {
+            return;
+        }
+
+        long minX = Long.MAX_VALUE, minZ = Long.MAX_VALUE, maxX = Long.MIN_VALUE, maxZ = Long.MIN_VALUE;
+        var centerX = new long[count];
+        var centerZ = new long[count];
+
+        for (int i = 0; i < count; i++) {
+            centerX[i] = ((long) bounds[i * 6] + bounds[i * 6 + 3]) >> 1;
+            centerZ[i] = ((long) bounds[i * 6 + 2] + bounds[i * 6 + 5]) >> 1;
+            minX = Math.min(minX, centerX[i]);
+            minZ = Math.min(minZ, centerZ[i]);
+            maxX = Math.max(maxX, centerX[i]);
+            maxZ = Math.max(maxZ, centerZ[i]);
+        }
+
+        var rangeX = Math.max(1, maxX - minX);
+        var rangeZ = Math.max(1, maxZ - minZ);
+
+        // Pack the curve index with the original position, so a single primitive sort orders everything
+        var keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            var hx = (int) ((centerX[i] - minX) * 0x7FFF / rangeX);
+            var hz = (int) ((centerZ[i] - minZ) * 0x7FFF / rangeZ);
+            keys[i] = ((long) hilbertIndex(hx, hz) << 32) | i;
+        }
+
+        Arrays.sort(keys);
+
+        var sortedClaims = new Claim[count];
+        var sortedBounds = new int[bounds.length];
+
+        for (int i = 0; i < count; i++) {
+            var from = (int) keys[i];
+            sortedClaims[i] = claims[from];
+            System.arraycopy(bounds, from * 6, sortedBounds, i * 6, 6);
+        }
+
+        System.arraycopy(sortedClaims, 0, claims, 0, count);
+        System.arraycopy(sortedBounds, 0, bounds, 0, bounds.length);
+    }
+
+    /**
+     * Position of the given point along a Hilbert curve filling a 32768x32768 grid.
+     */
+    private static int hilbertIndex(int x, int z) {
+        var d = 0;
+
+        for (int s = 1 << 14; s > 0; s >>= 1) {
+            var rx = (x & s) > 0 ? 1 : 0;
+            var rz = (z & s) > 0 ? 1 : 0;
+            d += s * s * ((3 * rx) ^ rz);
+
+            if (rz == 0) {
+                if (rx == 1) {
+                    x = s - 1 - x;
+                    z = s - 1 - z;
+                }
+
+                var t = x;
+                x = z;
+                z = t;
+            }
+        }
+
+        return d;
+    }
+
+    private static boolean intersects(int[] bounds, int i, int x1, int y1, int z1, int x2, int y2, int z2) {
+        var o = i * 6;
+        return bounds[o] <= x2 && x1 <= bounds[o + 3]
+                && bounds[o + 1] <= y2 && y1 <= bounds[o + 4]
+                && bounds[o + 2] <= z2 && z1 <= bounds[o + 5];
+    }
+
+    private static void setBounds(int[] bounds, int i, int x1, int y1, int z1, int x2, int y2, int z2) {
+        var o = i * 6;
+        bounds[o] = x1;
+        bounds[o + 1] = y1;
+        bounds[o + 2] = z1;
+        bounds[o + 3] = x2;
+        bounds[o + 4] = y2;
+        bounds[o + 5] = z2;
+    }
+
+    private static int divideUp(int count) {
+        return (count + NODE_SIZE - 1) / NODE_SIZE;
+    }
+}
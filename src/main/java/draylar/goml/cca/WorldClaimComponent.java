@@ -4,48 +4,430 @@ import com.jamieswhiteshirt.rtree3i.ConfigurationBuilder;
 import com.jamieswhiteshirt.rtree3i.RTreeMap;
 import draylar.goml.api.Claim;
 import draylar.goml.api.ClaimBox;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
 import net.fabricmc.fabric.api.util.NbtType;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.nbt.NbtList;
 import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public class WorldClaimComponent implements ClaimComponent {
 
-    private RTreeMap<ClaimBox, Claim> claims = RTreeMap.create(new ConfigurationBuilder().star().build(), ClaimBox::toBox);
+    private final ReferenceLinkedOpenHashSet<Claim> claimSet = new ReferenceLinkedOpenHashSet<>();
+    private final PackedClaimTree tree = new PackedClaimTree();
+    private final ClaimChunkIndex chunkIndex = new ClaimChunkIndex();
+    private final LongOpenHashSet loadedChunks = new LongOpenHashSet();
+    private final ClaimPresenceTracker presenceTracker = new ClaimPresenceTracker();
+    private final AugmentTickScheduler augmentScheduler = new AugmentTickScheduler();
+    private final ClaimPlayerIndex playerIndex = new ClaimPlayerIndex();
+    private final Long2ObjectOpenHashMap<Set<UUID>> trustedAtCache = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectOpenHashMap<Claim> claimsById = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectOpenHashMap<List<Claim>> claimsByOrigin = new Long2ObjectOpenHashMap<>();
     private final World world;
+    /**
+     * Segment files claims are saved to, only present on the server. Created on first use, as the server
+     * isn't set yet while the world is constructed.
+     */
+    @Nullable
+    private ClaimStorage storage;
+
+    /**
+     * Persistent tree handed out by {@link #getClaims()}. It's only built once something asks for it,
+     * and changes made after that are queued and applied on the next call.
+     */
+    @Nullable
+    private RTreeMap<ClaimBox, Claim> snapshot = null;
+    private final ArrayList<PendingChange> pendingChanges = new ArrayList<>();
+    @Nullable
+    private List<Claim> claimList = null;
+    private int modificationCount = 0;
 
     public WorldClaimComponent(World world) {
         this.world = world;
     }
 
+    @Nullable
+    private ClaimStorage getStorage() {
+        if (this.storage == null && this.world instanceof ServerWorld serverWorld && serverWorld.getServer() != null) {
+            this.storage = ClaimStorage.of(serverWorld);
+        }
+
+        return this.storage;
+    }
+
     @Override
     public RTreeMap<ClaimBox, Claim> getClaims() {
-        return claims;
+        if (this.snapshot == null) {
+            var claims = RTreeMap.<ClaimBox, Claim>create(new ConfigurationBuilder().star().build(), ClaimBox::toBox);
+
+            for (var claim : this.claimSet) {
+                claims = claims.put(claim.getClaimBox(), claim);
+            }
+
+            this.snapshot = claims;
+        } else if (!this.pendingChanges.isEmpty()) {
+            var claims = this.snapshot;
+
+            for (var change : this.pendingChanges) {
+                claims = change.added() ? claims.put(change.box(), change.claim()) : claims.remove(change.box());
+            }
+
+            this.snapshot = claims;
+            this.pendingChanges.clear();
+        }
+
+        return this.snapshot;
+    }
+
+    @Override
+    public List<Claim> getAllClaims() {
+        if (this.claimList == null) {
+            this.claimList = List.copyOf(this.claimSet);
+        }
+
+        return this.claimList;
     }
 
     @Override
     public void add(Claim info) {
-        this.claims = this.claims.put(info.getClaimBox(), info);
+        if (!this.claimSet.add(info)) {
+            return;
+        }
+
+        this.tree.add(info);
+        if (this.tree.needsRebuild()) {
+            this.tree.build(this.claimSet);
+        }
+
+        this.addToLookups(info, false);
+        this.chunkIndex.add(info);
+        if (info.hasTickingAugment()) {
+            this.augmentScheduler.schedule(info, this.world.getTime() + 1);
+        }
+        this.playerIndex.add(info);
+        this.onChanged(info, true);
+
+        var storage = this.getStorage();
+        if (storage != null) {
+            storage.journalUpdate(info);
+        }
     }
 
     @Override
     public void remove(Claim info) {
-        this.claims = this.claims.remove(info.getClaimBox());
+        if (!this.claimSet.remove(info)) {
+            return;
+        }
+
+        this.tree.remove(info);
+        if (this.tree.needsRebuild()) {
+            this.tree.build(this.claimSet);
+        }
+
+        this.removeFromLookups(info);
+        this.chunkIndex.remove(info);
+        this.augmentScheduler.remove(info);
+        this.playerIndex.remove(info);
+        this.onChanged(info, false);
+
+        var storage = this.getStorage();
+        if (storage != null) {
+            storage.journalRemove(info);
+        }
+    }
+
+    private void addToLookups(Claim claim, boolean loaded) {
+        var previousId = claim.getId();
+        ClaimIdRegistry.register(claim);
+        this.claimsById.put(claim.getId(), claim);
+        var storage = this.getStorage();
+        if (storage != null) {
+            if (loaded && previousId == claim.getId()) {
+                // It's already saved like this, no need to write its segment again
+                storage.addLoaded(claim);
+            } else {
+                storage.add(claim);
+                if (previousId != claim.getId() && previousId >= 0) {
+                    // Got a new id, so it also has to disappear from the segment it was saved in
+                    storage.markIdDirty(previousId);
+                }
+            }
+        }
+        this.claimsByOrigin.computeIfAbsent(claim.getOrigin().asLong(), x -> new ArrayList<>(1)).add(claim);
+    }
+
+    private void removeFromLookups(Claim claim) {
+        ClaimIdRegistry.unregister(claim);
+        var storage = this.getStorage();
+        if (storage != null) {
+            storage.remove(claim);
+        }
+        if (this.claimsById.get(claim.getId()) == claim) {
+            this.claimsById.remove(claim.getId());
+        }
+
+        var key = claim.getOrigin().asLong();
+        var claims = this.claimsByOrigin.get(key);
+        if (claims != null && claims.remove(claim) && claims.isEmpty()) {
+            this.claimsByOrigin.remove(key);
+        }
+    }
+
+    @Override
+    @Nullable
+    public Claim getClaimById(long id) {
+        return this.claimsById.get(id);
+    }
+
+    @Override
+    public List<Claim> getClaimsWithOrigin(BlockPos origin) {
+        var claims = this.claimsByOrigin.get(origin.asLong());
+        return claims != null ? Collections.unmodifiableList(claims) : List.of();
+    }
+
+    @Override
+    public int getModificationCount() {
+        return this.modificationCount;
+    }
+
+    private void onChanged(Claim claim, boolean added) {
+        this.modificationCount++;
+        this.claimList = null;
+        this.trustedAtCache.clear();
+
+        if (this.snapshot != null) {
+            // Once enough changes pile up, building it from scratch is cheaper than replaying them
+            if (this.pendingChanges.size() > 16 + this.claimSet.size() / 4) {
+                this.snapshot = null;
+                this.pendingChanges.clear();
+            } else {
+                this.pendingChanges.add(new PendingChange(claim.getClaimBox(), claim, added));
+            }
+        }
+    }
+
+    @Override
+    public boolean hasClaimAt(int x, int y, int z) {
+        return this.chunkIndex.getClaimAt(x, y, z) != null;
+    }
+
+    @Override
+    @Nullable
+    public Claim getClaimAt(int x, int y, int z) {
+        return this.chunkIndex.getClaimAt(x, y, z);
+    }
+
+    @Override
+    public void forEachClaimAt(int x, int y, int z, Consumer<Claim> consumer) {
+        this.chunkIndex.forEachClaimAt(x, y, z, consumer);
+    }
+
+    @Override
+    public boolean anyClaimAt(int x, int y, int z, Predicate<Claim> predicate) {
+        return this.chunkIndex.anyClaimAt(x, y, z, predicate);
+    }
+
+    @Override
+    public boolean hasClaimInBox(int x1, int y1, int z1, int x2, int y2, int z2) {
+        var result = this.chunkIndex.intersectsAny(x1, y1, z1, x2, y2, z2);
+
+        if (result != null) {
+            return result;
+        }
+
+        return this.tree.anyIntersecting(x1, y1, z1, x2, y2, z2, claim -> true);
+    }
+
+    @Override
+    public void forEachClaimInBox(int x1, int y1, int z1, int x2, int y2, int z2, Consumer<Claim> consumer) {
+        this.tree.anyIntersecting(x1, y1, z1, x2, y2, z2, claim -> {
+            consumer.accept(claim);
+            return false;
+        });
+    }
+
+    @Override
+    public Set<UUID> getPlayersTrustedAt(int x, int y, int z) {
+        var key = BlockPos.asLong(x, y, z);
+        var players = this.trustedAtCache.get(key);
+
+        if (players == null) {
+            var set = new ObjectOpenHashSet<UUID>();
+            this.chunkIndex.forEachClaimAt(x, y, z, claim -> {
+                set.addAll(claim.getOwners());
+                set.addAll(claim.getTrusted());
+            });
+
+            // Every piston looks itself up here, so keep it from growing without bound on busy servers
+            if (this.trustedAtCache.size() >= 4096) {
+                this.trustedAtCache.clear();
+            }
+
+            players = set.isEmpty() ? Set.of() : Collections.unmodifiableSet(set);
+            this.trustedAtCache.put(key, players);
+        }
+
+        return players;
+    }
+
+    @Override
+    public int countLoadedChunks(int minX, int minZ, int maxX, int maxZ) {
+        var count = 0;
+
+        // Huge claims can cover far more chunks than there are loaded, so walk whichever is smaller
+        if ((long) (maxX - minX + 1) * (maxZ - minZ + 1) > this.loadedChunks.size()) {
+            var iterator = this.loadedChunks.iterator();
+
+            while (iterator.hasNext()) {
+                var pos = iterator.nextLong();
+                var x = ChunkPos.getPackedX(pos);
+                var z = ChunkPos.getPackedZ(pos);
+
+                if (minX <= x && x <= maxX && minZ <= z && z <= maxZ) {
+                    count++;
+                }
+            }
+        } else {
+            for (var x = minX; x <= maxX; x++) {
+                for (var z = minZ; z <= maxZ; z++) {
+                    if (this.loadedChunks.contains(ChunkPos.toLong(x, z))) {
+                        count++;
+                    }
+                }
+            }
+        }
+
+        return count;
+    }
+
+    @Override
+    public void internal_onChunkLoad(int chunkX, int chunkZ) {
+        if (this.loadedChunks.add(ChunkPos.toLong(chunkX, chunkZ))) {
+            this.chunkIndex.forEachClaimInChunk(chunkX, chunkZ, Claim::internal_incrementChunks);
+        }
+    }
+
+    @Override
+    public void internal_onChunkUnload(int chunkX, int chunkZ) {
+        if (this.loadedChunks.remove(ChunkPos.toLong(chunkX, chunkZ))) {
+            this.chunkIndex.forEachClaimInChunk(chunkX, chunkZ, Claim::internal_decrementChunks);
+        }
+    }
+
+    @Override
+    public void internal_tick(ServerWorld world) {
+        this.presenceTracker.tick(world, this, this.augmentScheduler);
+
+        var storage = this.getStorage();
+        if (storage != null) {
+            storage.flushJournal(world.getTime());
+        }
+    }
+
+    @Override
+    public void internal_updateTicking(Claim claim) {
+        if (this.claimSet.contains(claim) && claim.hasTickingAugment()) {
+            this.augmentScheduler.schedule(claim, this.world.getTime() + 1);
+        } else {
+            this.augmentScheduler.remove(claim);
+        }
+    }
+
+    @Override
+    public Collection<Claim> getClaimsOwnedBy(UUID uuid) {
+        return this.playerIndex.getOwned(uuid);
+    }
+
+    @Override
+    public Collection<Claim> getClaimsTrusting(UUID uuid) {
+        return this.playerIndex.getTrusted(uuid);
+    }
+
+    @Override
+    public Collection<Claim> getClaimsWithAccess(UUID uuid) {
+        return this.playerIndex.getWithAccess(uuid);
+    }
+
+    @Override
+    public void internal_updatePlayer(Claim claim, UUID uuid) {
+        if (this.claimSet.contains(claim)) {
+            this.playerIndex.update(claim, uuid);
+            this.trustedAtCache.clear();
+        }
+    }
+
+    @Override
+    public void internal_updateGroups(Claim claim) {
+        if (this.claimSet.contains(claim)) {
+            this.playerIndex.updateGroups(claim);
+        }
+    }
+
+    @Override
+    public void internal_markDirty(Claim claim) {
+        var storage = this.getStorage();
+        if (storage != null && this.claimSet.contains(claim)) {
+            storage.markDirty(claim);
+            storage.journalUpdate(claim);
+        }
+    }
+
+    @Override
+    public void internal_onUnload() {
+        if (this.storage != null) {
+            this.storage.close();
+        }
     }
 
     @Override
     public void readFromNbt(NbtCompound tag) {
-        this.claims = RTreeMap.create(new ConfigurationBuilder().star().build(), ClaimBox::rtree3iBox);
+        this.snapshot = null;
+        this.pendingChanges.clear();
+        this.claimList = null;
+        for (var claim : this.claimSet) {
+            ClaimIdRegistry.unregister(claim);
+        }
+        this.claimsById.clear();
+        this.claimsByOrigin.clear();
+        this.claimSet.clear();
+        this.chunkIndex.clear();
+        this.augmentScheduler.clear();
+        this.presenceTracker.clear();
+        this.playerIndex.clear();
+        this.trustedAtCache.clear();
+        var storage = this.getStorage();
+        if (storage != null) {
+            storage.clear();
+        }
+        this.modificationCount++;
         var world = this.world.getRegistryKey().getValue();
 
         var version = tag.getInt("Version");
+        if (tag.contains("NextId", NbtType.LONG)) {
+            ClaimIdRegistry.reserve(tag.getLong("NextId") - 1);
+        }
         NbtList nbtList = tag.getList("Claims", NbtType.COMPOUND);
 
-        if (version == 0) {
+        if (version >= 2 && storage != null) {
+            for (var child : storage.load()) {
+                this.addLoaded(this.loadClaim(child, version));
+            }
+        } else if (version == 0) {
             nbtList.forEach(child -> {
                 NbtCompound childCompound = (NbtCompound) child;
                 ClaimBox box = boxFromTag((NbtCompound) childCompound.get("Box"));
@@ -56,33 +438,94 @@ public class WorldClaimComponent implements ClaimComponent {
                     if (this.world instanceof ServerWorld world1) {
                         claimInfo.internal_updateChunkCount(world1);
                     }
-                    add(claimInfo);
+                    this.addLoaded(claimInfo);
                 }
             });
         } else {
-            nbtList.forEach(child -> {
-                Claim claimInfo = Claim.fromNbt(this.world.getServer(), (NbtCompound) child, version);
-                claimInfo.internal_setWorld(world);
-                if (this.world instanceof ServerWorld world1) {
-                    claimInfo.internal_updateChunkCount(world1);
+            nbtList.forEach(child -> this.addLoaded(this.loadClaim((NbtCompound) child, version)));
+        }
+
+        if (storage != null) {
+            // Claims from the old format get moved to segment files on the next save
+            if (version < 2) {
+                storage.markAllDirty();
+            }
+
+            // Apply changes made after the last save, in case the server didn't get to save them
+            storage.replayJournal((id, nbt) -> {
+                ClaimIdRegistry.reserve(id);
+                var existing = this.claimsById.get(id);
+                if (existing != null) {
+                    this.removeLoaded(existing);
+                }
+
+                if (nbt != null) {
+                    var claim = this.loadClaim(nbt, 2);
+                    this.addLoaded(claim);
+                    storage.markDirty(claim);
                 }
-                add(claimInfo);
             });
         }
+
+        // Building the tree in one go is a lot cheaper than inserting claims one by one
+        this.tree.build(this.claimSet);
+    }
+
+    private Claim loadClaim(NbtCompound nbt, int version) {
+        var claim = Claim.fromNbt(this.world.getServer(), nbt, version);
+        claim.internal_setWorld(this.world.getRegistryKey().getValue());
+        if (this.world instanceof ServerWorld world) {
+            claim.internal_updateChunkCount(world);
+        }
+        return claim;
+    }
+
+    private void addLoaded(Claim claim) {
+        if (this.claimSet.add(claim)) {
+            this.addToLookups(claim, true);
+            this.chunkIndex.add(claim);
+            if (claim.hasTickingAugment()) {
+                this.augmentScheduler.schedule(claim, this.world.getTime() + 1);
+            }
+            this.playerIndex.add(claim);
+        }
+    }
+
+    private void removeLoaded(Claim claim) {
+        if (this.claimSet.remove(claim)) {
+            this.removeFromLookups(claim);
+            this.chunkIndex.remove(claim);
+            this.augmentScheduler.remove(claim);
+            this.playerIndex.remove(claim);
+        }
     }
 
     @Override
     public void writeToNbt(NbtCompound tag) {
+        tag.putLong("NextId", ClaimIdRegistry.getNextId());
+        var storage = this.getStorage();
+        if (storage != null) {
+            storage.save();
+
+            if (storage.isPersisted()) {
+                tag.putInt("Version", 2);
+                return;
+            }
+            // Some segments aren't on disk yet or couldn't be written, so keep every claim in here as well to not lose any
+        }
+
         NbtList nbtListClaims = new NbtList();
         tag.putInt("Version", 1);
 
-        claims.values().forEach(claim -> {
-            nbtListClaims.add(claim.asNbt());
+        this.claimSet.forEach(claim -> {
+            nbtListClaims.add(claim.internal_getSaveNbt());
         });
 
         tag.put("Claims", nbtListClaims);
     }
 
+    private record PendingChange(ClaimBox box, Claim claim, boolean added) {}
+
     @Nullable
     @Deprecated
     public ClaimBox boxFromTag(NbtCompound tag) {
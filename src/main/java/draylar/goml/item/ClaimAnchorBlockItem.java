@@ -1,6 +1,7 @@
 package draylar.goml.item;
 
 import draylar.goml.GetOffMyLawn;
+import draylar.goml.api.Claim;
 import draylar.goml.api.ClaimUtils;
 import draylar.goml.block.ClaimAnchorBlock;
 import me.lucko.fabric.api.permissions.v0.Options;
@@ -9,6 +10,7 @@ import net.minecraft.item.ItemPlacementContext;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 
+import java.util.ArrayList;
 import java.util.function.Consumer;
 
 public class ClaimAnchorBlockItem extends TooltippedBlockItem {
@@ -46,7 +48,7 @@ public class ClaimAnchorBlockItem extends TooltippedBlockItem {
         var checkBox = ClaimUtils.createClaimBox(pos, radius);
 
         if (!ClaimUtils.isInAdminMode(context.getPlayer())) {
-            var count = ClaimUtils.getClaimsOwnedBy(context.getWorld(), context.getPlayer().getUuid()).count();
+            var count = ClaimUtils.getOwnedClaims(context.getWorld(), context.getPlayer().getUuid()).size();
 
             int maxCount;
             var allowedCount = Options.get(context.getPlayer(), "goml.claim_limit");
@@ -82,16 +84,19 @@ public class ClaimAnchorBlockItem extends TooltippedBlockItem {
         }
 
 
-        var claims = ClaimUtils.getClaimsInBox(context.getWorld(), checkBox.rtree3iBox());
-        if (GetOffMyLawn.CONFIG.allowClaimOverlappingIfSameOwner) {
-            claims = claims.filter(x -> !x.getValue().isOwner(context.getPlayer()) || x.getKey().toBox().equals(checkBox.toBox()));
-        }
+        var claims = new ArrayList<Claim>();
+        var newBox = checkBox.toBox();
+        GetOffMyLawn.CLAIM.get(context.getWorld()).forEachClaimInBox(newBox.x1(), newBox.y1(), newBox.z1(), newBox.x2(), newBox.y2(), newBox.z2(), (c) -> {
+            if (!GetOffMyLawn.CONFIG.allowClaimOverlappingIfSameOwner || !c.isOwner(context.getPlayer()) || c.getClaimBox().toBox().equals(newBox)) {
+                claims.add(c);
+            }
+        });
 
-        if (claims.isNotEmpty()) {
+        if (!claims.isEmpty()) {
             var list = Text.literal("");
 
             claims.forEach((c) -> {
-                var box = c.getKey().toBox();
+                var box = c.getClaimBox().toBox();
 
                 list.append(Text.literal("[").formatted(Formatting.GRAY)
                         .append(Text.literal(box.x1() + ", " + box.y1() + ", " + box.z1()).formatted(Formatting.WHITE))
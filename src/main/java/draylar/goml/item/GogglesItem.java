@@ -1,7 +1,6 @@
 package draylar.goml.item;
 
 import draylar.goml.GetOffMyLawn;
-import draylar.goml.api.ClaimUtils;
 import draylar.goml.api.WorldParticleUtils;
 import eu.pb4.polymer.core.api.item.PolymerItem;
 import net.minecraft.block.BlockState;
@@ -38,18 +37,19 @@ public class GogglesItem extends ArmorItem implements PolymerItem {
             if (player.age % 70 == 0) {
                 var distance = player.getServer().getPlayerManager().getViewDistance() * 16;
 
-                ClaimUtils.getClaimsInBox(
-                        world,
-                        entity.getBlockPos().add(-distance, -distance, -distance),
-                        entity.getBlockPos().add(distance, distance, distance)).forEach(
+                var pos = entity.getBlockPos();
+
+                GetOffMyLawn.CLAIM.get(world).forEachClaimInBox(
+                        pos.getX() - distance, pos.getY() - distance, pos.getZ() - distance,
+                        pos.getX() + distance, pos.getY() + distance, pos.getZ() + distance,
                         claim -> {
-                            var box = claim.getKey().toBox();
+                            var box = claim.getClaimBox().toBox();
                             var minPos = new BlockPos(box.x1(), Math.max(box.y1(), world.getBottomY()), box.z1());
                             var maxPos = new BlockPos(box.x2() - 1, Math.min(box.y2() - 1, world.getTopY()), box.z2() - 1);
 
                             WorldParticleUtils.render(player, minPos, maxPos,
                                     //new DustParticleEffect(new Vec3f(0.8f, 0.8f, 0.8f), 2)
-                                    new BlockStateParticleEffect(ParticleTypes.BLOCK_MARKER, STATES[(claim.getValue().getOrigin().hashCode() & 0xFFFF) % STATES.length])
+                                    new BlockStateParticleEffect(ParticleTypes.BLOCK_MARKER, STATES[(claim.getOrigin().hashCode() & 0xFFFF) % STATES.length])
                             );
                         });
             }
@@ -1,11 +1,7 @@
 package draylar.goml.item;
 
-import com.jamieswhiteshirt.rtree3i.Box;
-import com.jamieswhiteshirt.rtree3i.Entry;
-import com.jamieswhiteshirt.rtree3i.Selection;
 import draylar.goml.GetOffMyLawn;
 import draylar.goml.api.Claim;
-import draylar.goml.api.ClaimBox;
 import draylar.goml.api.ClaimUtils;
 import draylar.goml.api.event.ClaimEvents;
 import draylar.goml.block.ClaimAnchorBlock;
@@ -27,8 +23,8 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicReference;
 
 public class UpgradeKitItem extends Item implements PolymerItem {
 
@@ -56,35 +52,43 @@ public class UpgradeKitItem extends Item implements PolymerItem {
 
         if(block.getBlock().equals(from)) {
             // get claims at block position
-            Selection<Entry<ClaimBox, Claim>> claimsFound = GetOffMyLawn.CLAIM.get(world).getClaims().entries(box ->
-                    box.contains(Box.create(pos.getX(), pos.getY(), pos.getZ(), pos.getX() + 1, pos.getY() + 1, pos.getZ() + 1))
-            );
+            var component = GetOffMyLawn.CLAIM.get(world);
+            var claimsFound = new ArrayList<Claim>();
+            component.forEachClaimAt(pos.getX(), pos.getY(), pos.getZ(), claimsFound::add);
 
             if(!claimsFound.isEmpty()) {
-                boolean noPermission = claimsFound.anyMatch((Entry<ClaimBox, Claim> boxInfo) -> !boxInfo.getValue().getOwners().contains(context.getPlayer().getUuid()));
+                boolean noPermission = claimsFound.stream().anyMatch(claim -> !claim.getOwners().contains(context.getPlayer().getUuid()));
 
                 // get claim at location
-                AtomicReference<Entry<ClaimBox, Claim>> currentClaim = new AtomicReference<>();
-                claimsFound.forEach(claim -> {
-                    if (claim.getValue().getOrigin().equals(pos) && claim.getValue().getOwners().contains(context.getPlayer().getUuid())) {
-                        currentClaim.set(claim);
+                Claim currentClaim = null;
+                for (var claim : component.getClaimsWithOrigin(pos)) {
+                    if (claim.getOwners().contains(context.getPlayer().getUuid())) {
+                        currentClaim = claim;
                     }
-                });
+                }
 
 
                 // if we have permission
-                if(!noPermission) {
+                if(!noPermission && currentClaim != null) {
                     var radius = to.getRadius();
                     var newBox = ClaimUtils.createClaimBox(pos, radius);
 
                     // if we don't overlap with another claim
-                    var claims = ClaimUtils.getClaimsInBox(world, newBox.rtree3iBox(), currentClaim.get().getKey().toBox());
+                    var currentBox = currentClaim.getClaimBox().toBox();
+                    var checkBox = newBox.toBox();
+                    var claims = new ArrayList<Claim>();
+                    component.forEachClaimInBox(checkBox.x1(), checkBox.y1(), checkBox.z1(), checkBox.x2(), checkBox.y2(), checkBox.z2(), c -> {
+                        if (!c.getClaimBox().toBox().equals(currentBox)) {
+                            claims.add(c);
+                        }
+                    });
+
                     if (claims.isEmpty()) {
-                        var claimInfo = currentClaim.get().getValue();
+                        var claimInfo = currentClaim;
                         var oldSize = claimInfo.getClaimBox();
 
                         // remove claim
-                        GetOffMyLawn.CLAIM.get(world).remove(claimInfo);
+                        component.remove(claimInfo);
 
                         // set block
                         BlockEntity oldBE = world.getBlockEntity(pos);
@@ -99,8 +103,7 @@ public class UpgradeKitItem extends Item implements PolymerItem {
                         if (world instanceof ServerWorld world1) {
                             claimInfo.internal_updateChunkCount(world1);
                         }
-                        claimInfo.internal_setWorld(currentClaim.get().getValue().getWorld());
-                        GetOffMyLawn.CLAIM.get(world).add(claimInfo);
+                        component.add(claimInfo);
 
                         // decrement stack
                         if(!context.getPlayer().isCreative() && !context.getPlayer().isSpectator()) {
@@ -119,7 +122,7 @@ public class UpgradeKitItem extends Item implements PolymerItem {
                         var list = Text.literal("");
 
                         claims.forEach((c) -> {
-                            var box = c.getKey().toBox();
+                            var box = c.getClaimBox().toBox();
 
                             list.append(Text.literal("[").formatted(Formatting.GRAY)
                                     .append(Text.literal(box.x1() + ", " + box.y1() + ", " + box.z1()).formatted(Formatting.WHITE))
@@ -1,9 +1,5 @@
 package draylar.goml.mixin;
 
-import com.jamieswhiteshirt.rtree3i.Entry;
-import com.jamieswhiteshirt.rtree3i.Selection;
-import draylar.goml.api.ClaimBox;
-import draylar.goml.api.Claim;
 import draylar.goml.api.ClaimUtils;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.fluid.Fluid;
@@ -45,15 +41,11 @@ public class BucketItemMixin extends Item {
         BlockHitResult blockHitResult = (BlockHitResult) hitResult;
         BlockPos blockPos = blockHitResult.getBlockPos();
 
-        Selection<Entry<ClaimBox, Claim>> claimsFound = ClaimUtils.getClaimsAt(world, blockPos);
+        boolean noPermission = ClaimUtils.anyClaimAt(world, blockPos.getX(), blockPos.getY(), blockPos.getZ(), claim -> !claim.hasPermission(user));
 
-        if (!claimsFound.isEmpty()) {
-            boolean noPermission = claimsFound.anyMatch((Entry<ClaimBox, Claim> boxInfo) -> !boxInfo.getValue().hasPermission(user));
-
-            if(noPermission) {
-                user.sendMessage(Text.literal("This block is protected by a claim."), true);
-                cir.setReturnValue(TypedActionResult.fail(user.getStackInHand(hand)));
-            }
+        if(noPermission) {
+            user.sendMessage(Text.literal("This block is protected by a claim."), true);
+            cir.setReturnValue(TypedActionResult.fail(user.getStackInHand(hand)));
         }
     }
 }
\ No newline at end of file
@@ -1,6 +1,10 @@
 package draylar.goml.mixin;
 
+import draylar.goml.GetOffMyLawn;
+import draylar.goml.api.Claim;
 import draylar.goml.api.ClaimUtils;
+import draylar.goml.cca.ClaimComponent;
+import draylar.goml.other.ClaimCacheOwner;
 import draylar.goml.other.OriginOwner;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.damage.DamageSource;
@@ -16,15 +20,29 @@ import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
+import java.util.ArrayList;
+
 @Mixin(Entity.class)
-public abstract class EntityMixin implements OriginOwner {
+public abstract class EntityMixin implements OriginOwner, ClaimCacheOwner {
     @Shadow private World world;
 
     @Shadow public abstract BlockPos getBlockPos();
 
+    @Unique
+    private static final Claim[] GOML$NO_CLAIMS = new Claim[0];
+
     @Unique
     private BlockPos originPos;
 
+    @Unique
+    private Claim[] goml$claims = GOML$NO_CLAIMS;
+    @Unique
+    private ClaimComponent goml$claimsComponent;
+    @Unique
+    private int goml$claimsVersion;
+    @Unique
+    private long goml$claimsPos;
+
     @Inject(method = "isInvulnerableTo", at = @At("HEAD"), cancellable = true)
     private void goml$isInvulnerable(DamageSource damageSource, CallbackInfoReturnable<Boolean> cir) {
         if (!ClaimUtils.canDamageEntity(this.world, (Entity) (Object) this, damageSource)) {
@@ -60,4 +78,26 @@ public abstract class EntityMixin implements OriginOwner {
     public void goml$tryFilling() {
         this.originPos = this.getBlockPos();
     }
+
+    @Override
+    public Claim[] goml$getClaims() {
+        var component = GetOffMyLawn.CLAIM.get(this.world);
+        var pos = this.getBlockPos();
+
+        if (component != this.goml$claimsComponent || component.getModificationCount() != this.goml$claimsVersion || pos.asLong() != this.goml$claimsPos) {
+            this.goml$claimsComponent = component;
+            this.goml$claimsVersion = component.getModificationCount();
+            this.goml$claimsPos = pos.asLong();
+
+            if (component.hasClaimAt(pos.getX(), pos.getY(), pos.getZ())) {
+                var claims = new ArrayList<Claim>();
+                component.forEachClaimAt(pos.getX(), pos.getY(), pos.getZ(), claims::add);
+                this.goml$claims = claims.toArray(GOML$NO_CLAIMS);
+            } else {
+                this.goml$claims = GOML$NO_CLAIMS;
+            }
+        }
+
+        return this.goml$claims;
+    }
 }
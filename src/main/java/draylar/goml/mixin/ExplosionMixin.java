@@ -1,5 +1,6 @@
 package draylar.goml.mixin;
 
+import com.google.common.collect.Iterables;
 import draylar.goml.api.ClaimUtils;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.minecraft.entity.Entity;
@@ -30,12 +31,26 @@ public abstract class ExplosionMixin {
 
     @Inject(method = "collectBlocksAndDamageEntities", at = @At("TAIL"))
     private void goml_clearBlocks(CallbackInfo ci) {
-        this.affectedBlocks.removeIf((b) -> !ClaimUtils.canExplosionDestroy(this.world, b, this.getCausingEntity()));
+        var bounds = ClaimUtils.getBounds(this.affectedBlocks);
+        if (bounds == null) {
+            return;
+        }
+
+        var filter = ClaimUtils.createExplosionFilter(this.world, bounds.getMinX(), bounds.getMinY(), bounds.getMinZ(),
+                bounds.getMaxX(), bounds.getMaxY(), bounds.getMaxZ(), this.getCausingEntity());
+        this.affectedBlocks.removeIf((b) -> !filter.test(b));
     }
 
     @ModifyVariable(method = "collectBlocksAndDamageEntities", at = @At("STORE"), ordinal = 0)
     private List<Entity> goml_clearEntities(List<Entity> x) {
-        x.removeIf((e) -> !ClaimUtils.canExplosionDestroy(this.world, e.getBlockPos(), this.getCausingEntity()));
+        var bounds = ClaimUtils.getBounds(Iterables.transform(x, Entity::getBlockPos));
+        if (bounds == null) {
+            return x;
+        }
+
+        var filter = ClaimUtils.createExplosionFilter(this.world, bounds.getMinX(), bounds.getMinY(), bounds.getMinZ(),
+                bounds.getMaxX(), bounds.getMaxY(), bounds.getMaxZ(), this.getCausingEntity());
+        x.removeIf((e) -> !filter.test(e.getBlockPos()));
         return x;
     }
 }
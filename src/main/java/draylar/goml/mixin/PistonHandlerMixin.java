@@ -1,7 +1,12 @@
 package draylar.goml.mixin;
 
+import com.google.common.collect.Iterables;
+import com.jamieswhiteshirt.rtree3i.Box;
 import com.llamalad7.mixinextras.injector.ModifyReturnValue;
+import draylar.goml.GetOffMyLawn;
+import draylar.goml.api.Claim;
 import draylar.goml.api.ClaimUtils;
+import draylar.goml.cca.ClaimChunkIndex;
 import net.minecraft.block.piston.PistonHandler;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
@@ -14,8 +19,9 @@ import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
-import java.util.HashSet;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Mixin(PistonHandler.class)
@@ -26,23 +32,20 @@ public class PistonHandlerMixin {
     @Shadow @Final private Direction motionDirection;
     @Unique
     private boolean claimsEmpty;
-    private HashSet<UUID> trusted;
+    @Unique
+    private Set<UUID> trusted;
 
     @Inject(method = "<init>", at = @At("TAIL"))
     private void storeClaimInfo(World world, BlockPos pos, Direction dir, boolean retracted, CallbackInfo ci) {
-        var claims = ClaimUtils.getClaimsAt(world, pos);
-        this.claimsEmpty = claims.isEmpty();
-        this.trusted = new HashSet<>();
-        claims.forEach(x -> {
-            this.trusted.addAll(x.getValue().getOwners());
-            this.trusted.addAll(x.getValue().getTrusted());
-        });
+        var component = GetOffMyLawn.CLAIM.get(world);
+        this.claimsEmpty = !component.hasClaimAt(pos.getX(), pos.getY(), pos.getZ());
+        this.trusted = component.getPlayersTrustedAt(pos.getX(), pos.getY(), pos.getZ());
     }
 
     @ModifyReturnValue(method = "calculatePush", at = @At("RETURN"))
     private boolean preventMovement(boolean value) {
         if (value) {
-            if (!checkClaims(this.movedBlocks) || !checkClaims(this.brokenBlocks)) {
+            if (!checkClaims()) {
                 this.movedBlocks.clear();
                 this.brokenBlocks.clear();
                 return false;
@@ -53,30 +56,65 @@ public class PistonHandlerMixin {
         return false;
     }
 
-    private boolean checkClaims(List<BlockPos> blocks) {
-        for (var pos : blocks) {
-            var claims = ClaimUtils.getClaimsAt(this.world, pos);
+    @Unique
+    private boolean checkClaims() {
+        var bounds = ClaimUtils.getBounds(Iterables.concat(this.movedBlocks, this.brokenBlocks));
+        if (bounds == null) {
+            return true;
+        }
 
-            boolean firstFound = true;
+        // Every block is also checked at its destination, so grow the box by one step of the push
+        var offsetX = this.motionDirection.getOffsetX();
+        var offsetY = this.motionDirection.getOffsetY();
+        var offsetZ = this.motionDirection.getOffsetZ();
 
-            if (claims.isEmpty() && this.claimsEmpty) {
-                firstFound = false;
-            }
+        var claims = new ArrayList<Claim>();
+        GetOffMyLawn.CLAIM.get(this.world).forEachClaimInBox(
+                bounds.getMinX() + Math.min(offsetX, 0), bounds.getMinY() + Math.min(offsetY, 0), bounds.getMinZ() + Math.min(offsetZ, 0),
+                bounds.getMaxX() + Math.max(offsetX, 0), bounds.getMaxY() + Math.max(offsetY, 0), bounds.getMaxZ() + Math.max(offsetZ, 0),
+                claims::add);
 
-            if (firstFound && claims.noneMatch(x -> x.getValue().hasPermission(this.trusted))) {
-                return false;
-            }
+        if (claims.isEmpty()) {
+            return this.claimsEmpty;
+        }
 
-            var mut = new BlockPos.Mutable();
-            claims = ClaimUtils.getClaimsAt(this.world, mut.set(pos).move(this.motionDirection));
-            if (claims.isEmpty() && this.claimsEmpty) {
-                continue;
-            }
+        var boxes = new Box[claims.size()];
+        var allowed = new boolean[claims.size()];
+
+        for (int i = 0; i < boxes.length; i++) {
+            boxes[i] = claims.get(i).getClaimBox().toBox();
+            allowed[i] = claims.get(i).hasPermission(this.trusted);
+        }
 
-            if (claims.noneMatch(x -> x.getValue().hasPermission(this.trusted))) {
+        return checkClaims(this.movedBlocks, boxes, allowed, offsetX, offsetY, offsetZ)
+                && checkClaims(this.brokenBlocks, boxes, allowed, offsetX, offsetY, offsetZ);
+    }
+
+    @Unique
+    private boolean checkClaims(List<BlockPos> blocks, Box[] boxes, boolean[] allowed, int offsetX, int offsetY, int offsetZ) {
+        for (var pos : blocks) {
+            if (!canMoveAt(boxes, allowed, pos.getX(), pos.getY(), pos.getZ())
+                    || !canMoveAt(boxes, allowed, pos.getX() + offsetX, pos.getY() + offsetY, pos.getZ() + offsetZ)) {
                 return false;
             }
         }
         return true;
     }
+
+    @Unique
+    private boolean canMoveAt(Box[] boxes, boolean[] allowed, int x, int y, int z) {
+        var claimed = false;
+
+        for (int i = 0; i < boxes.length; i++) {
+            if (ClaimChunkIndex.contains(boxes[i], x, y, z)) {
+                if (allowed[i]) {
+                    return true;
+                }
+                claimed = true;
+            }
+        }
+
+        // Unclaimed blocks can only be moved by pistons that aren't in a claim either
+        return !claimed && this.claimsEmpty;
+    }
 }
@@ -1,9 +1,5 @@
 package draylar.goml.mixin;
 
-import com.jamieswhiteshirt.rtree3i.Entry;
-import com.jamieswhiteshirt.rtree3i.Selection;
-import draylar.goml.api.ClaimBox;
-import draylar.goml.api.Claim;
 import draylar.goml.api.ClaimUtils;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityType;
@@ -31,15 +27,12 @@ public abstract class TntEntityMixin extends Entity {
 
     @Inject(at = @At("HEAD"), method = "explode", cancellable = true)
     private void goml_attemptExplosion(CallbackInfo ci) {
-        if (causingEntity instanceof PlayerEntity) {
-            Selection<Entry<ClaimBox, Claim>> claimsFound = ClaimUtils.getClaimsAt(getWorld(), getBlockPos());
+        if (causingEntity instanceof PlayerEntity player) {
+            var pos = getBlockPos();
+            boolean noPermission = ClaimUtils.anyClaimAt(getWorld(), pos.getX(), pos.getY(), pos.getZ(), claim -> !claim.hasPermission(player));
 
-            if (!claimsFound.isEmpty()) {
-                boolean noPermission = claimsFound.anyMatch((Entry<ClaimBox, Claim> boxInfo) -> !boxInfo.getValue().hasPermission((PlayerEntity) causingEntity));
-
-                if(noPermission) {
-                    ci.cancel();
-                }
+            if(noPermission) {
+                ci.cancel();
             }
         }
     }
@@ -29,8 +29,7 @@ public abstract class EndermanEntityMixin extends HostileEntity {
             cancellable = true
     )
     private void goml$attemptTeleport(double x, double y, double z, CallbackInfoReturnable<Boolean> cir) {
-        boolean b = ClaimUtils.getClaimsAt(this.getWorld(), this.getBlockPos())
-                .anyMatch(claim -> claim.getValue().hasAugment(GOMLBlocks.ENDER_BINDING.getFirst()));
+        boolean b = ClaimUtils.anyClaimAt(this, claim -> claim.hasAugment(GOMLBlocks.ENDER_BINDING.getFirst()));
 
         if (b) {
             cir.setReturnValue(false);
@@ -43,8 +42,7 @@ public abstract class EndermanEntityMixin extends HostileEntity {
 
         @Inject(method = "canStart", at = @At("HEAD"), cancellable = true)
         private void goml$cancelInClaim(CallbackInfoReturnable<Boolean> cir) {
-            boolean b = ClaimUtils.getClaimsAt(this.enderman.getWorld(), this.enderman.getBlockPos())
-                    .anyMatch(claim -> claim.getValue().hasAugment(GOMLBlocks.ENDER_BINDING.getFirst()));
+            boolean b = ClaimUtils.anyClaimAt(this.enderman, claim -> claim.hasAugment(GOMLBlocks.ENDER_BINDING.getFirst()));
 
             if (b) {
                 cir.setReturnValue(false);
@@ -58,8 +56,7 @@ public abstract class EndermanEntityMixin extends HostileEntity {
 
         @Inject(method = "canStart", at = @At("HEAD"), cancellable = true)
         private void goml$cancelInClaim(CallbackInfoReturnable<Boolean> cir) {
-            boolean b = ClaimUtils.getClaimsAt(this.enderman.getWorld(), this.enderman.getBlockPos())
-                    .anyMatch(claim -> claim.getValue().hasAugment(GOMLBlocks.ENDER_BINDING.getFirst()));
+            boolean b = ClaimUtils.anyClaimAt(this.enderman, claim -> claim.hasAugment(GOMLBlocks.ENDER_BINDING.getFirst()));
 
             if (b) {
                 cir.setReturnValue(false);
@@ -16,7 +16,7 @@ import vazkii.botania.common.item.ItemLaputaShard;
 public class BotaniaItemLaputaShardMixin {
     @Redirect(method = {"spawnNextBurst", "updateBurst"}, at = @At(value = "INVOKE", target = "Lnet/minecraft/world/World;getBlockState(Lnet/minecraft/util/math/BlockPos;)Lnet/minecraft/block/BlockState;"))
     private BlockState goml_canReplace(World instance, BlockPos pos) {
-        if (ClaimUtils.getClaimsAt(instance, pos).isNotEmpty()) {
+        if (ClaimUtils.hasClaimAt(instance, pos.getX(), pos.getY(), pos.getZ())) {
             return Blocks.BEDROCK.getDefaultState();
         }
 
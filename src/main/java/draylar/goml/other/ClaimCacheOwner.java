@@ -0,0 +1,11 @@
+package draylar.goml.other;
+
+import draylar.goml.api.Claim;
+
+public interface ClaimCacheOwner {
+    /**
+     * Returns claims containing the entity's block position. The result is cached until the entity
+     * moves to another block or claims of its world change, so don't modify it.
+     */
+    Claim[] goml$getClaims();
+}
@@ -39,7 +39,6 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import static net.minecraft.server.command.CommandManager.argument;
 import static net.minecraft.server.command.CommandManager.literal;
@@ -148,12 +147,12 @@ public class ClaimCommand {
     }
 
     private static int fixAugments(CommandContext<ServerCommandSource> context) {
-        ClaimUtils.getClaimsAt(context.getSource().getWorld(), BlockPos.ofFloored(context.getSource().getPosition())).forEach(x -> {
-            var copy = new ArrayList<>(x.getValue().getAugments().entrySet());
+        ClaimUtils.getClaimListAt(context.getSource().getWorld(), BlockPos.ofFloored(context.getSource().getPosition())).forEach(x -> {
+            var copy = new ArrayList<>(x.getAugments().entrySet());
 
             for (var y : copy) {
                 if (context.getSource().getWorld().getBlockState(y.getKey()).getBlock() != y.getValue()) {
-                    x.getValue().removeAugment(y.getKey());
+                    x.removeAugment(y.getKey());
                 }
             }
         });
@@ -163,15 +162,16 @@ public class ClaimCommand {
     }
 
     private static int escape(CommandContext<ServerCommandSource> context, ServerPlayerEntity player) {
-        var claims = ClaimUtils.getClaimsAt(player.getWorld(), player.getBlockPos()).filter(x -> !x.getValue().hasPermission(player));
+        var claims = ClaimUtils.getClaimListAt(player.getWorld(), player.getBlockPos());
+        claims.removeIf(x -> x.hasPermission(player));
 
-        if (claims.isNotEmpty()) {
+        if (!claims.isEmpty()) {
             claims.forEach((claim) -> {
-                if (!claim.getKey().minecraftBox().contains(player.getPos())) {
+                if (!claim.getClaimBox().minecraftBox().contains(player.getPos())) {
                     return;
                 }
 
-                var pair = ClaimUtils.getClosestXZBorder(claim.getValue(), player.getPos(), 1);
+                var pair = ClaimUtils.getClosestXZBorder(claim, player.getPos(), 1);
 
                 var pos = pair.getLeft();
                 var dir = pair.getRight();
@@ -233,7 +233,7 @@ public class ClaimCommand {
         bumpChat(player);
 
         server.getWorlds().forEach(world -> {
-            var worldClaims = GetOffMyLawn.CLAIM.get(world).getClaims();
+            var worldClaims = GetOffMyLawn.CLAIM.get(world).getAllClaims();
             int numberOfClaimsWorld = worldClaims.size();
             numberOfClaimsTotal.addAndGet(1);
 
@@ -256,14 +256,14 @@ public class ClaimCommand {
         ServerPlayerEntity player = context.getSource().getPlayer();
 
         if (!world.isClient()) {
-            ClaimUtils.getClaimsAt(world, player.getBlockPos()).forEach(claimedArea -> {
-                player.sendMessage(prefix(Text.literal("Origin: " + claimedArea.getValue().getOrigin().toShortString())), false);
-                player.sendMessage(prefix(Text.literal("Radius: " + claimedArea.getValue().getRadius() + " Height: " + claimedArea.getKey().getY())), false);
+            ClaimUtils.getClaimListAt(world, player.getBlockPos()).forEach(claimedArea -> {
+                player.sendMessage(prefix(Text.literal("Origin: " + claimedArea.getOrigin().toShortString())), false);
+                player.sendMessage(prefix(Text.literal("Radius: " + claimedArea.getRadius() + " Height: " + claimedArea.getClaimBox().getY())), false);
                 {
                     var owners = Text.literal("Owners: ");
 
                     {
-                        var iter = claimedArea.getValue().getOwners().iterator();
+                        var iter = claimedArea.getOwners().iterator();
 
                         while (iter.hasNext()) {
                             var uuid = iter.next();
@@ -285,7 +285,7 @@ public class ClaimCommand {
                     var trusted = Text.literal("Trusted: ");
 
                     {
-                        var iter = claimedArea.getValue().getTrusted().iterator();
+                        var iter = claimedArea.getTrusted().iterator();
 
                         while (iter.hasNext()) {
                             var uuid = iter.next();
@@ -308,8 +308,8 @@ public class ClaimCommand {
                     player.sendMessage(prefix(trusted), false);
                 }
                 player.sendMessage(prefix(Text.literal("ClaimData: ")), false);
-                for (var key : (Collection<DataKey<Object>>) (Object) claimedArea.getValue().getDataKeys()) {
-                    player.sendMessage(Text.literal("- " + key.key() + " -> ").append(NbtHelper.toPrettyPrintedText(key.serializer().apply(claimedArea.getValue().getData(key)))), false);
+                for (var key : (Collection<DataKey<Object>>) (Object) claimedArea.getDataKeys()) {
+                    player.sendMessage(Text.literal("- " + key.key() + " -> ").append(NbtHelper.toPrettyPrintedText(key.serializer().apply(claimedArea.getData(key)))), false);
                 }
 
             });
@@ -328,7 +328,7 @@ public class ClaimCommand {
         ServerWorld world = context.getSource().getWorld();
         ServerPlayerEntity player = context.getSource().getPlayer();
 
-        var worldClaims = GetOffMyLawn.CLAIM.get(world).getClaims();
+        var worldClaims = GetOffMyLawn.CLAIM.get(world).getAllClaims();
         int numberOfClaims = worldClaims.size();
 
         player.sendMessage(prefix(Text.translatable("text.goml.command.number_in", world.getRegistryKey().getValue(), numberOfClaims)), false);
@@ -347,13 +347,13 @@ public class ClaimCommand {
         ServerPlayerEntity player = context.getSource().getPlayer();
 
         if (!world.isClient()) {
-            ClaimUtils.getClaimsAt(world, player.getBlockPos()).forEach(claimedArea -> {
-                claimedArea.getValue().destroy();
-                player.sendMessage(prefix(Text.translatable("text.goml.command.removed_claim", world.getRegistryKey().getValue(), claimedArea.getValue().getOrigin())), false);
-                var blockEntity = world.getBlockEntity(claimedArea.getValue().getOrigin(), GOMLEntities.CLAIM_ANCHOR);
+            ClaimUtils.getClaimListAt(world, player.getBlockPos()).forEach(claimedArea -> {
+                claimedArea.destroy();
+                player.sendMessage(prefix(Text.translatable("text.goml.command.removed_claim", world.getRegistryKey().getValue(), claimedArea.getOrigin())), false);
+                var blockEntity = world.getBlockEntity(claimedArea.getOrigin(), GOMLEntities.CLAIM_ANCHOR);
 
                 if (blockEntity.isPresent()) {
-                    world.breakBlock(claimedArea.getValue().getOrigin(), true);
+                    world.breakBlock(claimedArea.getOrigin(), true);
                     for (var lPos : new ArrayList<>(blockEntity.get().getAugments().keySet())) {
                         world.breakBlock(lPos, true);
                     }
@@ -406,14 +406,14 @@ public class ClaimCommand {
     private static int openGui(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
         var player = context.getSource().getPlayer();
 
-        var claim = ClaimUtils.getClaimsAt(player.getWorld(), player.getBlockPos());
+        var claim = ClaimUtils.firstClaimAt(player.getWorld(), player.getBlockPos().getX(), player.getBlockPos().getY(), player.getBlockPos().getZ());
 
-        if (claim.isEmpty()) {
+        if (claim == null) {
             player.sendMessage(prefix(Text.translatable("text.goml.command.no_claims").formatted(Formatting.RED)), false);
             return 0;
         }
 
-        claim.collect(Collectors.toList()).get(0).getValue().openUi(player);
+        claim.openUi(player);
 
         return 1;
     }
@@ -426,14 +426,14 @@ public class ClaimCommand {
 
         if (!world.isClient()) {
             var skipChecks = ClaimUtils.isInAdminMode(player);
-            ClaimUtils.getClaimsAt(world, player.getBlockPos()).forEach(claimedArea -> {
+            ClaimUtils.getClaimListAt(world, player.getBlockPos()).forEach(claimedArea -> {
                 for (var toAdd : toAddCol) {
-                    if (skipChecks || claimedArea.getValue().isOwner(player)) {
-                        if (owner && !claimedArea.getValue().isOwner(toAdd.getId())) {
-                            claimedArea.getValue().addOwner(toAdd.getId());
+                    if (skipChecks || claimedArea.isOwner(player)) {
+                        if (owner && !claimedArea.isOwner(toAdd.getId())) {
+                            claimedArea.addOwner(toAdd.getId());
                             player.sendMessage(prefix(Text.translatable("text.goml.command.owner_added", toAdd.getName())), false);
-                        } else if (!owner && !claimedArea.getValue().getTrusted().contains(toAdd.getId())) {
-                            claimedArea.getValue().trust(toAdd.getId());
+                        } else if (!owner && !claimedArea.getTrusted().contains(toAdd.getId())) {
+                            claimedArea.trust(toAdd.getId());
                             player.sendMessage(prefix(Text.translatable("text.goml.command.trusted", toAdd.getName())), false);
                         } else {
                             player.sendMessage(prefix(Text.translatable("text.goml.command.already_added", toAdd.getName())), false);
@@ -453,7 +453,7 @@ public class ClaimCommand {
 
         // Owner/trusted tried to remove themselves from the claim
 
-        ClaimUtils.getClaimsAt(world, player.getBlockPos()).forEach(claimedArea -> {
+        ClaimUtils.getClaimListAt(world, player.getBlockPos()).forEach(claimedArea -> {
             for (var toRemove : toRemoveCol) {
 
                 if (toRemove.getId().equals(player.getUuid()) && !ClaimUtils.isInAdminMode(player)) {
@@ -461,11 +461,11 @@ public class ClaimCommand {
                     return;
                 }
 
-                if (claimedArea.getValue().isOwner(player)) {
+                if (claimedArea.isOwner(player)) {
                     if (owner) {
-                        claimedArea.getValue().getOwners().remove(toRemove.getId());
+                        claimedArea.removeOwner(toRemove.getId());
                     } else {
-                        claimedArea.getValue().untrust(toRemove.getId());
+                        claimedArea.untrust(toRemove.getId());
                     }
 
 
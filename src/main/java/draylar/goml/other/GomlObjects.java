@@ -7,4 +7,5 @@ import java.util.Map;
 
 public class GomlObjects {
     public static final Map<String, PlayerGroupProvider> PROVIDER_MAP = new HashMap<>();
+    public static long groupMembershipEpoch = 0;
 }
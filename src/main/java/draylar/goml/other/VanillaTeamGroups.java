@@ -24,6 +24,7 @@ public class VanillaTeamGroups {
     }
 
     public static void onRemove(Team team) {
+        PlayerGroup.markMembershipChanged();
         var value = TeamGroup.CACHE.get(team);
         if (value != null) {
             for (var claim : List.copyOf(value.claims)) {
@@ -128,6 +129,11 @@ public class VanillaTeamGroups {
             return true;
         }
 
+        @Override
+        public boolean announcesMembershipChanges() {
+            return true;
+        }
+
         @Override
         public List<Member> getMembers() {
             List<Member> list = new ArrayList<>();
@@ -3,6 +3,7 @@ package draylar.goml.registry;
 import com.google.common.collect.HashBiMap;
 import draylar.goml.api.Augment;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenCustomHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import net.minecraft.nbt.NbtElement;
 import net.minecraft.util.Identifier;
@@ -15,7 +16,7 @@ import java.util.Map;
 public class GOMLAugments {
     private static final Map<Identifier, Augment> AUGMENTS = new HashMap<>();
     private static final Map<Augment, Identifier> AUGMENT_IDS = new Reference2ObjectOpenHashMap<>();
-
+    private static final Reference2IntOpenHashMap<Augment> AUGMENT_INDEXES = Util.make(new Reference2IntOpenHashMap<>(), x -> x.defaultReturnValue(-1));
 
     @Nullable
     public static Augment get(Identifier identifier) {
@@ -24,10 +25,21 @@ public class GOMLAugments {
 
     public static Augment register(Identifier identifier, Augment augment) {
         AUGMENT_IDS.put(augment, identifier);
+        if (!AUGMENT_INDEXES.containsKey(augment)) {
+            AUGMENT_INDEXES.put(augment, AUGMENT_INDEXES.size());
+        }
         return AUGMENTS.put(identifier, augment);
     }
 
     public static Identifier getId(Augment augment) {
         return AUGMENT_IDS.get(augment);
     }
+
+    /**
+     * Returns a small index assigned to the augment when it was registered, or -1 if it wasn't.
+     * Indexes stay the same for the whole session, so claims can use them to track augment types.
+     */
+    public static int getIndex(Augment augment) {
+        return AUGMENT_INDEXES.getInt(augment);
+    }
 }
@@ -1,9 +1,7 @@
 package draylar.goml.ui;
 
-import com.jamieswhiteshirt.rtree3i.Entry;
 import com.mojang.authlib.GameProfile;
 import draylar.goml.api.Claim;
-import draylar.goml.api.ClaimBox;
 import draylar.goml.api.ClaimUtils;
 import eu.pb4.sgui.api.elements.GuiElementBuilder;
 import me.lucko.fabric.api.permissions.v0.Permissions;
@@ -21,12 +19,12 @@ import java.util.List;
 @ApiStatus.Internal
 public class ClaimListGui extends PagedGui {
 
-    private final List<Entry<ClaimBox, Claim>> claimList = new ArrayList<>();
+    private final List<Claim> claimList = new ArrayList<>();
 
     protected ClaimListGui(ServerPlayerEntity player, GameProfile target) {
         super(player, null);
 
-        ClaimUtils.getClaimsWithAccess(player.getWorld(), target.getId()).forEach(this.claimList::add);
+        this.claimList.addAll(ClaimUtils.getAccessibleClaims(player.getServer(), target.getId()));
         this.setTitle(Text.translatable(
                 player.getGameProfile().getId().equals(target.getId()) ? "text.goml.your_claims" : "text.goml.someones_claims",
                 target.getName()
@@ -48,12 +46,11 @@ public class ClaimListGui extends PagedGui {
     protected DisplayElement getElement(int id) {
         if (this.claimList.size() > id) {
             var server = this.player.getServer();
-            var entry = this.claimList.get(id);
-            var claim = entry.getValue();
+            var claim = this.claimList.get(id);
 
             var icon = GuiElementBuilder.from(claim.getIcon());
             icon.setName(Text.literal(claim.getOrigin().toShortString()).append(Text.literal(" (" + claim.getWorld().toString() + ")").formatted(Formatting.GRAY)));
-            var lore = ClaimUtils.getClaimText(server, entry.getValue());
+            var lore = ClaimUtils.getClaimText(server, claim);
             lore.remove(0);
             icon.setLore(lore);
 
@@ -0,0 +1,129 @@
+package draylar.goml.cca;
+
+import draylar.goml.api.Augment;
+import draylar.goml.api.Claim;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.util.math.BlockPos;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AugmentTickSchedulerTest {
+    @BeforeAll
+    static void bootstrap() {
+        TestClaims.bootstrap();
+    }
+
+    @Test
+    void ticksClaimsWhenTheirAugmentIsDue() {
+        // Shorter and longer than the wheel
+        for (var interval : new int[] { 1, 20, 300 }) {
+            var claim = TestClaims.claim(0, 64, 0, 10, 10);
+            claim.addAugment(BlockPos.ORIGIN, ticking(interval));
+
+            var scheduler = new AugmentTickScheduler();
+            scheduler.schedule(claim, 0);
+            var ticks = tick(scheduler, 1000);
+
+            assertEquals(expectedTicks(claim, 1000), ticks);
+            assertEquals(1000 / interval, ticks.size(), 1);
+        }
+    }
+
+    @Test
+    void usesShortestInterval() {
+        var claim = TestClaims.claim(0, 64, 0, 10, 10);
+        claim.addAugment(BlockPos.ORIGIN, ticking(40));
+        claim.addAugment(BlockPos.ORIGIN.up(), ticking(7));
+
+        var scheduler = new AugmentTickScheduler();
+        scheduler.schedule(claim, 0);
+
+        assertEquals(expectedTicks(claim, 500), tick(scheduler, 500));
+    }
+
+    @Test
+    void claimsWithoutTickingAugmentsAreNotScheduled() {
+        var claim = TestClaims.claim(0, 64, 0, 10, 10);
+        claim.addAugment(BlockPos.ORIGIN, Augment.noop());
+
+        var scheduler = new AugmentTickScheduler();
+        scheduler.schedule(claim, 0);
+
+        assertFalse(scheduler.isScheduled(claim));
+        assertTrue(tick(scheduler, 200).isEmpty());
+    }
+
+    @Test
+    void removedClaimsStopTicking() {
+        var claim = TestClaims.claim(0, 64, 0, 10, 10);
+        claim.addAugment(BlockPos.ORIGIN, ticking(5));
+
+        var scheduler = new AugmentTickScheduler();
+        scheduler.schedule(claim, 0);
+        assertTrue(scheduler.isScheduled(claim));
+
+        scheduler.remove(claim);
+        assertFalse(scheduler.isScheduled(claim));
+        assertTrue(tick(scheduler, 200).isEmpty());
+    }
+
+    @Test
+    void consumerCanRemoveClaim() {
+        var claim = TestClaims.claim(0, 64, 0, 10, 10);
+        claim.addAugment(BlockPos.ORIGIN, ticking(1));
+
+        var scheduler = new AugmentTickScheduler();
+        scheduler.schedule(claim, 0);
+
+        var ticks = new LongArrayList();
+        for (long time = 0; time < 10; time++) {
+            var current = time;
+            scheduler.tick(time, ticked -> {
+                ticks.add(current);
+                scheduler.remove(ticked);
+            });
+        }
+
+        assertEquals(LongArrayList.of(0), ticks);
+    }
+
+    /**
+     * Every time in [0, end) at which the claim has an augment due.
+     */
+    private static LongArrayList expectedTicks(Claim claim, long end) {
+        var ticks = new LongArrayList();
+        for (long time = 0; time < end; time++) {
+            if (claim.getNextAugmentTick(time) == time) {
+                ticks.add(time);
+            }
+        }
+        return ticks;
+    }
+
+    private static LongArrayList tick(AugmentTickScheduler scheduler, long end) {
+        var ticks = new LongArrayList();
+        for (long time = 0; time < end; time++) {
+            var current = time;
+            scheduler.tick(time, claim -> ticks.add(current));
+        }
+        return ticks;
+    }
+
+    private static Augment ticking(int interval) {
+        return new Augment() {
+            @Override
+            public boolean ticks() {
+                return true;
+            }
+
+            @Override
+            public int tickInterval() {
+                return interval;
+            }
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package draylar.goml.cca;
+
+import draylar.goml.api.Claim;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ClaimIdRegistryTest {
+    @BeforeAll
+    static void bootstrap() {
+        TestClaims.bootstrap();
+    }
+
+    @BeforeEach
+    void clear() {
+        ClaimIdRegistry.clear();
+    }
+
+    @Test
+    void handsOutIdsInOrder() {
+        var first = claim();
+        var second = claim();
+        ClaimIdRegistry.register(first);
+        ClaimIdRegistry.register(second);
+
+        assertEquals(0, first.getId());
+        assertEquals(1, second.getId());
+        assertSame(second, ClaimIdRegistry.get(1));
+        assertEquals(2, ClaimIdRegistry.getNextId());
+    }
+
+    @Test
+    void keepsSavedIds() {
+        var claim = claim();
+        claim.internal_setId(41);
+        ClaimIdRegistry.register(claim);
+
+        assertEquals(41, claim.getId());
+        assertSame(claim, ClaimIdRegistry.get(41));
+        assertEquals(42, ClaimIdRegistry.getNextId());
+    }
+
+    @Test
+    void replacesTakenIds() {
+        var first = claim();
+        var second = claim();
+        first.internal_setId(5);
+        second.internal_setId(5);
+        ClaimIdRegistry.register(first);
+        ClaimIdRegistry.register(second);
+
+        assertEquals(5, first.getId());
+        assertNotEquals(5, second.getId());
+        assertSame(first, ClaimIdRegistry.get(5));
+        assertSame(second, ClaimIdRegistry.get(second.getId()));
+
+        // Registering a claim again doesn't move it
+        ClaimIdRegistry.register(first);
+        assertEquals(5, first.getId());
+    }
+
+    @Test
+    void reservedIdsAreNotHandedOut() {
+        ClaimIdRegistry.reserve(99);
+
+        var claim = claim();
+        ClaimIdRegistry.register(claim);
+        assertEquals(100, claim.getId());
+
+        // Reserving lower ids doesn't go back
+        ClaimIdRegistry.reserve(3);
+        assertEquals(101, ClaimIdRegistry.getNextId());
+    }
+
+    @Test
+    void unregisterOnlyRemovesSameClaim() {
+        var first = claim();
+        ClaimIdRegistry.register(first);
+
+        var other = claim();
+        other.internal_setId(first.getId());
+        ClaimIdRegistry.unregister(other);
+        assertSame(first, ClaimIdRegistry.get(first.getId()));
+
+        ClaimIdRegistry.unregister(first);
+        assertNull(ClaimIdRegistry.get(first.getId()));
+    }
+
+    private static Claim claim() {
+        return TestClaims.claim(0, 64, 0, 10, 10);
+    }
+}
@@ -0,0 +1,122 @@
+package draylar.goml.cca;
+
+import com.google.common.primitives.Bytes;
+import net.minecraft.nbt.NbtCompound;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClaimJournalTest {
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void bootstrap() {
+        TestClaims.bootstrap();
+    }
+
+    @Test
+    void readsRecordsInOrder() {
+        var file = this.directory.resolve("journal.log");
+        var records = List.of(
+                new ClaimJournal.Record(5, nbt(1)),
+                new ClaimJournal.Record(6, null),
+                new ClaimJournal.Record(5, nbt(2))
+        );
+
+        var journal = new ClaimJournal(file);
+        journal.append(ClaimJournal.encode(records.subList(0, 2)));
+        journal.append(ClaimJournal.encode(records.subList(2, 3)));
+        journal.close();
+
+        assertEquals(records, read(new ClaimJournal(file)));
+    }
+
+    @Test
+    void missingFileIsEmpty() {
+        var journal = new ClaimJournal(this.directory.resolve("journal.log"));
+        var records = new ArrayList<ClaimJournal.Record>();
+
+        assertEquals(0, journal.read((id, nbt) -> records.add(new ClaimJournal.Record(id, nbt))));
+        assertTrue(records.isEmpty());
+    }
+
+    @Test
+    void ignoresTornRecordAtTheEnd() throws IOException {
+        var file = this.directory.resolve("journal.log");
+        var complete = ClaimJournal.encode(List.of(new ClaimJournal.Record(1, nbt(1))));
+        var torn = ClaimJournal.encode(List.of(new ClaimJournal.Record(2, nbt(2))));
+
+        // Cut off in the payload, and in the header
+        for (var length : new int[] { torn.length - 3, 5 }) {
+            Files.write(file, Bytes.concat(complete, Arrays.copyOf(torn, length)));
+
+            var records = new ArrayList<ClaimJournal.Record>();
+            var validLength = new ClaimJournal(file).read((id, nbt) -> records.add(new ClaimJournal.Record(id, nbt)));
+
+            assertEquals(List.of(new ClaimJournal.Record(1, nbt(1))), records);
+            assertEquals(complete.length, validLength);
+        }
+    }
+
+    @Test
+    void ignoresCorruptedRecordAtTheEnd() throws IOException {
+        var file = this.directory.resolve("journal.log");
+        var complete = ClaimJournal.encode(List.of(new ClaimJournal.Record(1, nbt(1))));
+        var corrupted = ClaimJournal.encode(List.of(new ClaimJournal.Record(2, nbt(2))));
+        corrupted[corrupted.length - 1] ^= 0x55;
+
+        Files.write(file, Bytes.concat(complete, corrupted));
+
+        assertEquals(List.of(new ClaimJournal.Record(1, nbt(1))), read(new ClaimJournal(file)));
+    }
+
+    @Test
+    void appendCutsOffTornRecord() throws IOException {
+        var file = this.directory.resolve("journal.log");
+        var complete = ClaimJournal.encode(List.of(new ClaimJournal.Record(1, nbt(1))));
+        var torn = ClaimJournal.encode(List.of(new ClaimJournal.Record(2, nbt(2))));
+        Files.write(file, Bytes.concat(complete, Arrays.copyOf(torn, torn.length - 3)));
+
+        var journal = new ClaimJournal(file);
+        journal.read((id, nbt) -> {});
+        journal.append(ClaimJournal.encode(List.of(new ClaimJournal.Record(3, nbt(3)))));
+        journal.close();
+
+        assertEquals(List.of(new ClaimJournal.Record(1, nbt(1)), new ClaimJournal.Record(3, nbt(3))), read(new ClaimJournal(file)));
+    }
+
+    @Test
+    void truncateDropsEveryRecord() {
+        var file = this.directory.resolve("journal.log");
+        var journal = new ClaimJournal(file);
+        journal.append(ClaimJournal.encode(List.of(new ClaimJournal.Record(1, nbt(1)))));
+        journal.truncate();
+        journal.append(ClaimJournal.encode(List.of(new ClaimJournal.Record(2, nbt(2)))));
+        journal.close();
+
+        assertEquals(List.of(new ClaimJournal.Record(2, nbt(2))), read(new ClaimJournal(file)));
+    }
+
+    private static List<ClaimJournal.Record> read(ClaimJournal journal) {
+        var records = new ArrayList<ClaimJournal.Record>();
+        journal.read((id, nbt) -> records.add(new ClaimJournal.Record(id, nbt)));
+        return records;
+    }
+
+    private static NbtCompound nbt(int value) {
+        var nbt = new NbtCompound();
+        nbt.putInt("Value", value);
+        return nbt;
+    }
+}
@@ -0,0 +1,85 @@
+package draylar.goml.cca;
+
+import draylar.goml.api.Claim;
+import net.minecraft.util.math.BlockPos;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClaimPlayerIndexTest {
+    private static final UUID OWNER = UUID.randomUUID();
+    private static final UUID TRUSTED = UUID.randomUUID();
+    private static final UUID STRANGER = UUID.randomUUID();
+
+    @BeforeAll
+    static void bootstrap() {
+        TestClaims.bootstrap();
+    }
+
+    @Test
+    void indexesOwnersAndTrustedPlayers() {
+        var index = new ClaimPlayerIndex();
+        var first = new Claim(null, Set.of(OWNER), Set.of(TRUSTED), BlockPos.ORIGIN);
+        var second = new Claim(null, Set.of(OWNER, TRUSTED), Set.of(), BlockPos.ORIGIN.east(100));
+        index.add(first);
+        index.add(second);
+
+        assertEquals(List.of(first, second), List.copyOf(index.getOwned(OWNER)));
+        assertEquals(List.of(second), List.copyOf(index.getOwned(TRUSTED)));
+        assertEquals(List.of(first), List.copyOf(index.getTrusted(TRUSTED)));
+        assertTrue(index.getTrusted(OWNER).isEmpty());
+        assertEquals(Set.of(first, second), Set.copyOf(index.getWithAccess(TRUSTED)));
+        assertTrue(index.getWithAccess(STRANGER).isEmpty());
+    }
+
+    @Test
+    void followsPlayerChanges() {
+        var index = new ClaimPlayerIndex();
+        var claim = new Claim(null, Set.of(OWNER), Set.of(), BlockPos.ORIGIN);
+        index.add(claim);
+
+        claim.trust(STRANGER);
+        index.update(claim, STRANGER);
+        assertEquals(List.of(claim), List.copyOf(index.getTrusted(STRANGER)));
+
+        claim.untrust(STRANGER);
+        claim.addOwner(STRANGER);
+        index.update(claim, STRANGER);
+        assertTrue(index.getTrusted(STRANGER).isEmpty());
+        assertEquals(List.of(claim), List.copyOf(index.getOwned(STRANGER)));
+
+        claim.removeOwner(OWNER);
+        index.update(claim, OWNER);
+        assertTrue(index.getOwned(OWNER).isEmpty());
+        assertTrue(index.getWithAccess(OWNER).isEmpty());
+    }
+
+    @Test
+    void removedClaimsLeaveTheIndex() {
+        var index = new ClaimPlayerIndex();
+        var claim = new Claim(null, Set.of(OWNER), Set.of(TRUSTED), BlockPos.ORIGIN);
+        index.add(claim);
+        index.remove(claim);
+
+        assertTrue(index.getOwned(OWNER).isEmpty());
+        assertTrue(index.getTrusted(TRUSTED).isEmpty());
+        assertTrue(index.getWithAccess(TRUSTED).isEmpty());
+    }
+
+    @Test
+    void viewsCantBeModified() {
+        var index = new ClaimPlayerIndex();
+        var claim = new Claim(null, Set.of(OWNER), Set.of(), BlockPos.ORIGIN);
+        index.add(claim);
+
+        assertThrows(UnsupportedOperationException.class, () -> index.getOwned(OWNER).clear());
+        assertThrows(UnsupportedOperationException.class, () -> index.getTrusted(OWNER).add(claim));
+    }
+}
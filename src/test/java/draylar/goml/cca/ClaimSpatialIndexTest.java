@@ -0,0 +1,214 @@
+package draylar.goml.cca;
+
+import com.jamieswhiteshirt.rtree3i.Box;
+import com.jamieswhiteshirt.rtree3i.ConfigurationBuilder;
+import com.jamieswhiteshirt.rtree3i.RTreeMap;
+import draylar.goml.api.Claim;
+import draylar.goml.api.ClaimBox;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Checks the chunk index and the packed tree against the R-tree they replaced for lookups.
+ */
+class ClaimSpatialIndexTest {
+    private static final int CLAIMS = 600;
+    private static final int QUERIES = 4000;
+    private static final int RANGE = 3000;
+
+    @BeforeAll
+    static void bootstrap() {
+        TestClaims.bootstrap();
+    }
+
+    @Test
+    void chunkIndexMatchesTreeAtPoints() {
+        var random = new Random(1);
+        var claims = randomClaims(random, CLAIMS);
+        var index = new ClaimChunkIndex();
+        claims.forEach(index::add);
+
+        checkPoints(random, index, claims);
+
+        // Remove every third claim, so buckets get replaced and large claims leave their list
+        var remaining = new ArrayList<Claim>();
+        for (int i = 0; i < claims.size(); i++) {
+            if (i % 3 == 0) {
+                index.remove(claims.get(i));
+            } else {
+                remaining.add(claims.get(i));
+            }
+        }
+
+        checkPoints(random, index, remaining);
+    }
+
+    @Test
+    void chunkIndexMatchesTreeInBoxes() {
+        var random = new Random(2);
+        var claims = randomClaims(random, CLAIMS);
+        var index = new ClaimChunkIndex();
+        claims.forEach(index::add);
+        var tree = tree(claims);
+
+        for (int i = 0; i < QUERIES; i++) {
+            var box = randomBox(random, claims, 48);
+            var result = index.intersectsAny(box.x1(), box.y1(), box.z1(), box.x2(), box.y2(), box.z2());
+
+            assertNotNull(result);
+            assertEquals(!claimsIntersecting(tree, box).isEmpty(), result);
+        }
+    }
+
+    @Test
+    void packedTreeMatchesTree() {
+        var random = new Random(3);
+        var claims = randomClaims(random, CLAIMS);
+        var packed = new PackedClaimTree();
+        packed.build(claims);
+
+        checkBoxes(random, packed, claims);
+
+        // Changes after the build go through the overflow until the next one
+        var current = new ArrayList<>(claims);
+        for (int i = 0; i < 40; i++) {
+            packed.remove(current.remove(random.nextInt(current.size())));
+        }
+        for (var claim : randomClaims(random, 40)) {
+            packed.add(claim);
+            current.add(claim);
+        }
+        // Removing a claim that is still in the overflow
+        var overflowed = current.remove(current.size() - 1);
+        packed.remove(overflowed);
+
+        checkBoxes(random, packed, current);
+
+        packed.build(current);
+        checkBoxes(random, packed, current);
+    }
+
+    @Test
+    void packedTreeHandlesFewClaims() {
+        var random = new Random(4);
+        var packed = new PackedClaimTree();
+        packed.build(List.of());
+        checkBoxes(random, packed, List.of());
+
+        for (var count : new int[] { 1, 2, 16, 17, 257 }) {
+            var claims = randomClaims(random, count);
+            packed.build(claims);
+            checkBoxes(random, packed, claims);
+        }
+    }
+
+    private static void checkPoints(Random random, ClaimChunkIndex index, List<Claim> claims) {
+        var tree = tree(claims);
+
+        for (int i = 0; i < QUERIES; i++) {
+            var box = randomBox(random, claims, 1);
+            var x = box.x1();
+            var y = box.y1();
+            var z = box.z1();
+            var expected = claimsAt(tree, x, y, z);
+
+            var actual = new ReferenceOpenHashSet<Claim>();
+            index.forEachClaimAt(x, y, z, actual::add);
+
+            assertEquals(expected, actual);
+            assertEquals(!expected.isEmpty(), index.getClaimAt(x, y, z) != null);
+            assertEquals(!expected.isEmpty(), index.anyClaimAt(x, y, z, claim -> true));
+        }
+    }
+
+    private static void checkBoxes(Random random, PackedClaimTree packed, List<Claim> claims) {
+        var tree = tree(claims);
+
+        for (int i = 0; i < QUERIES; i++) {
+            var box = randomBox(random, claims, 256);
+            var actual = new ReferenceOpenHashSet<Claim>();
+            packed.anyIntersecting(box.x1(), box.y1(), box.z1(), box.x2(), box.y2(), box.z2(), claim -> {
+                actual.add(claim);
+                return false;
+            });
+
+            assertEquals(claimsIntersecting(tree, box), actual);
+        }
+    }
+
+    /**
+     * Creates claims of both box shapes, with a few big enough to skip the chunk buckets.
+     */
+    private static List<Claim> randomClaims(Random random, int count) {
+        var claims = new ArrayList<Claim>(count);
+        var boxes = new ObjectOpenHashSet<ClaimBox>();
+
+        while (claims.size() < count) {
+            var radius = claims.size() % 100 == 99 ? 600 + random.nextInt(400) : 1 + random.nextInt(80);
+            var claim = TestClaims.claim(random.nextInt(-RANGE, RANGE), random.nextInt(-64, 320), random.nextInt(-RANGE, RANGE),
+                    radius, 1 + random.nextInt(radius), random.nextBoolean());
+
+            // The R-tree is keyed by box, so it can't hold two claims with the same one
+            if (boxes.add(claim.getClaimBox())) {
+                claims.add(claim);
+            }
+        }
+
+        return claims;
+    }
+
+    /**
+     * Returns a box with sides up to the given size. Half of them are placed around claim edges, where mistakes show up.
+     */
+    private static Box randomBox(Random random, List<Claim> claims, int maxSize) {
+        int x, y, z;
+
+        if (!claims.isEmpty() && random.nextBoolean()) {
+            var box = claims.get(random.nextInt(claims.size())).getClaimBox().toBox();
+            x = random.nextBoolean() ? box.x1() - 1 + random.nextInt(3) : box.x2() - 1 + random.nextInt(3);
+            y = box.y1() - 1 + random.nextInt(box.y2() - box.y1() + 3);
+            z = box.z1() - 1 + random.nextInt(box.z2() - box.z1() + 3);
+        } else {
+            x = random.nextInt(-RANGE, RANGE);
+            y = random.nextInt(-64, 320);
+            z = random.nextInt(-RANGE, RANGE);
+        }
+
+        if (maxSize == 1) {
+            return Box.create(x, y, z, x + 1, y + 1, z + 1);
+        }
+
+        return Box.create(x, y, z, x + random.nextInt(maxSize), y + random.nextInt(maxSize), z + random.nextInt(maxSize));
+    }
+
+    private static RTreeMap<ClaimBox, Claim> tree(List<Claim> claims) {
+        var tree = RTreeMap.<ClaimBox, Claim>create(new ConfigurationBuilder().star().build(), ClaimBox::toBox);
+        for (var claim : claims) {
+            tree = tree.put(claim.getClaimBox(), claim);
+        }
+        return tree;
+    }
+
+    private static Set<Claim> claimsAt(RTreeMap<ClaimBox, Claim> tree, int x, int y, int z) {
+        var check = Box.create(x, y, z, x + 1, y + 1, z + 1);
+        var claims = new ReferenceOpenHashSet<Claim>();
+        tree.entries(box -> box.contains(check)).forEach(entry -> claims.add(entry.getValue()));
+        return claims;
+    }
+
+    private static Set<Claim> claimsIntersecting(RTreeMap<ClaimBox, Claim> tree, Box check) {
+        var claims = new ReferenceOpenHashSet<Claim>();
+        tree.entries(box -> box.intersectsClosed(check)).forEach(entry -> claims.add(entry.getValue()));
+        return claims;
+    }
+}
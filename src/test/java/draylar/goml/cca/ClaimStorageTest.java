@@ -0,0 +1,165 @@
+package draylar.goml.cca;
+
+import draylar.goml.api.Claim;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClaimStorageTest {
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void bootstrap() {
+        TestClaims.bootstrap();
+    }
+
+    @Test
+    void savedClaimsLoadAgain() {
+        var storage = new ClaimStorage(this.directory);
+        storage.add(claim(0));
+        storage.add(claim(1));
+        storage.add(claim(300));
+        save(storage);
+
+        assertTrue(Files.exists(this.segment(0)));
+        assertTrue(Files.exists(this.segment(1)));
+        assertEquals(new LongOpenHashSet(new long[] { 0, 1, 300 }), ids(new ClaimStorage(this.directory).load()));
+    }
+
+    @Test
+    void onlyChangedSegmentsAreWritten() throws IOException {
+        var storage = new ClaimStorage(this.directory);
+        var claim = claim(0);
+        storage.add(claim);
+        storage.add(claim(300));
+        save(storage);
+
+        Files.delete(this.segment(1));
+        storage.markDirty(claim);
+        save(storage);
+
+        assertTrue(Files.exists(this.segment(0)));
+        assertFalse(Files.exists(this.segment(1)));
+    }
+
+    @Test
+    void loadedClaimsAreNotWritten() {
+        var storage = new ClaimStorage(this.directory);
+        storage.addLoaded(claim(0));
+        save(storage);
+
+        assertFalse(Files.exists(this.segment(0)));
+    }
+
+    @Test
+    void emptySegmentsAreDeleted() {
+        var storage = new ClaimStorage(this.directory);
+        var claim = claim(300);
+        storage.add(claim(0));
+        storage.add(claim);
+        save(storage);
+
+        storage.remove(claim);
+        save(storage);
+
+        assertFalse(Files.exists(this.segment(1)));
+        assertEquals(new LongOpenHashSet(new long[] { 0 }), ids(new ClaimStorage(this.directory).load()));
+    }
+
+    @Test
+    void saveWritesClaimsAsCaptured() {
+        var storage = new ClaimStorage(this.directory);
+        var claim = claim(0);
+        storage.add(claim);
+        storage.save();
+        // Changes after the capture belong to the next save, even if the worker didn't get to this one yet
+        claim.addOwner(UUID.randomUUID());
+        ClaimIoWorker.flush();
+
+        var loaded = new ClaimStorage(this.directory).load();
+        assertEquals(1, loaded.size());
+        assertTrue(loaded.get(0).getList(Claim.OWNERS_KEY, NbtElement.INT_ARRAY_TYPE).isEmpty());
+    }
+
+    @Test
+    void persistedOnceEverySegmentIsWritten() {
+        var storage = new ClaimStorage(this.directory);
+        storage.add(claim(0));
+        storage.markAllDirty();
+        assertFalse(storage.isPersisted());
+
+        save(storage);
+        assertTrue(storage.isPersisted());
+    }
+
+    @Test
+    void journalIsReplayedUntilSaved() {
+        var storage = new ClaimStorage(this.directory);
+        var updated = claim(7);
+        var removed = claim(8);
+        storage.add(updated);
+        storage.journalUpdate(updated);
+        storage.journalRemove(removed);
+        storage.flushJournal(1);
+        ClaimIoWorker.flush();
+
+        var records = replay(new ClaimStorage(this.directory));
+        assertEquals(2, records.size());
+        assertEquals(7, records.get(0).id());
+        assertEquals(7, records.get(0).nbt().getLong("Id"));
+        assertEquals(8, records.get(1).id());
+        assertNull(records.get(1).nbt());
+
+        save(storage);
+        storage.close();
+        ClaimIoWorker.flush();
+
+        assertTrue(replay(new ClaimStorage(this.directory)).isEmpty());
+    }
+
+    private Path segment(long segment) {
+        return this.directory.resolve("segment_" + segment + ".dat");
+    }
+
+    private static void save(ClaimStorage storage) {
+        storage.save();
+        ClaimIoWorker.flush();
+    }
+
+    private static Claim claim(long id) {
+        var claim = TestClaims.claim((int) id * 64, 64, 0, 10, 10);
+        claim.internal_setId(id);
+        return claim;
+    }
+
+    private static Set<Long> ids(List<NbtCompound> claims) {
+        var ids = new LongOpenHashSet();
+        for (var claim : claims) {
+            ids.add(claim.getLong("Id"));
+        }
+        return ids;
+    }
+
+    private static List<ClaimJournal.Record> replay(ClaimStorage storage) {
+        var records = new ArrayList<ClaimJournal.Record>();
+        storage.replayJournal((id, nbt) -> records.add(new ClaimJournal.Record(id, nbt)));
+        return records;
+    }
+}
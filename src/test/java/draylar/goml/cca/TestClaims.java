@@ -0,0 +1,43 @@
+package draylar.goml.cca;
+
+import draylar.goml.api.Claim;
+import draylar.goml.api.ClaimBox;
+import draylar.goml.registry.GOMLBlocks;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Shared setup for tests working with claims, which need the game registries to exist.
+ */
+final class TestClaims {
+    private static boolean bootstrapped = false;
+
+    private TestClaims() {}
+
+    static void bootstrap() {
+        if (bootstrapped) {
+            return;
+        }
+
+        bootstrapped = true;
+        SharedConstants.createGameVersion();
+        // Claims default to one of the anchor blocks, which have to be registered before the registries get frozen
+        Objects.requireNonNull(GOMLBlocks.MAKESHIFT_CLAIM_ANCHOR);
+        Bootstrap.initialize();
+    }
+
+    static Claim claim(int x, int y, int z, int radius, int radiusY) {
+        return claim(x, y, z, radius, radiusY, false);
+    }
+
+    static Claim claim(int x, int y, int z, int radius, int radiusY, boolean noShift) {
+        var origin = new BlockPos(x, y, z);
+        var claim = new Claim(null, Set.of(), Set.of(), origin);
+        claim.internal_setClaimBox(new ClaimBox(origin, radius, radiusY, noShift));
+        return claim;
+    }
+}